@@ -0,0 +1,166 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.VarargsMath;
+import org.kllbff.magic.math.structs.Fraction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionBenchmark {
+    private static final int COUNT = 1024;
+    
+    @Param({"integers", "decimals", "sparse"})
+    public String distribution;
+    
+    private Fraction[] left, right;
+    private double[] values;
+    private long[] a, b;
+    
+    @Setup
+    public void setup() {
+        double[] l = Values.vector(distribution, COUNT);
+        double[] r = Values.vector(distribution, COUNT + 1);
+        values = l;
+        left = new Fraction[COUNT];
+        right = new Fraction[COUNT];
+        for(int i = 0; i < COUNT; i++) {
+            left[i] = Fraction.create(l[i]);
+            right[i] = Fraction.create(r[i] == 0 ? 1 : r[i]);
+        }
+        
+        Random random = new Random(Values.SEED);
+        a = new long[COUNT];
+        b = new long[COUNT];
+        for(int i = 0; i < COUNT; i++) {
+            long k = random.nextInt(4096) + 1;
+            a[i] = ((random.nextLong() >>> 33) | 1) * k;
+            b[i] = ((random.nextLong() >>> 33) | 1) * k;
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void sum(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(left[i].sum(right[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void sub(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(left[i].sub(right[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void mul(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(left[i].mul(right[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void div(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(left[i].div(right[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void create(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(Fraction.create(values[i]));
+        }
+    }
+    
+    /**
+     * Baseline for {@link #create(Blackhole)}: a new reduced fraction for each whole value, as before cache of small fractions
+     */
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void allocate(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(new Fraction((long)values[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void exactValueOf(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(Fraction.valueOf(values[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void approximate(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(Fraction.approximate(values[i], Fraction.NUMBER_DEFAULT_DENOMINATOR));
+        }
+    }
+    
+    /**
+     * Baseline for {@link #approximate(Blackhole)}: truncation of value to 8 decimal digits, used by {@link Fraction#create(Number)} before
+     */
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void truncate(Blackhole bh) {
+        for(int i = 0; i < COUNT; i++) {
+            bh.consume(Fraction.valueOf((long)(values[i] * Fraction.NUMBER_DEFAULT_DENOMINATOR), Fraction.NUMBER_DEFAULT_DENOMINATOR));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long gcd() {
+        long s = 0;
+        for(int i = 0; i < COUNT; i++) {
+            s += VarargsMath.gcd(a[i], b[i]);
+        }
+        return s;
+    }
+    
+    /**
+     * Baseline for {@link #gcd()}: residual (Euclid) algorithm, used by VarargsMath before binary algorithm
+     */
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long euclidGcd() {
+        long s = 0;
+        for(int i = 0; i < COUNT; i++) {
+            long x = a[i], y = b[i], t;
+            while(y != 0) {
+                t = y;
+                y = x % y;
+                x = t;
+            }
+            s += x;
+        }
+        return s;
+    }
+}
@@ -0,0 +1,50 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.algothms.GaussAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussBenchmark {
+    @Param({"2", "3", "4", "8", "16", "32", "64"})
+    public int size;
+    
+    @Param({"integers", "decimals", "sparse"})
+    public String distribution;
+    
+    private GaussAlgorithm gauss;
+    private Number[] free;
+    
+    @Setup
+    public void setup() {
+        gauss = new GaussAlgorithm(size);
+        gauss.add(Values.matrix(distribution, size));
+        
+        double[] values = Values.vector(distribution, size);
+        free = new Number[size];
+        for(int i = 0; i < size; i++) {
+            free[i] = values[i];
+        }
+    }
+    
+    @Benchmark
+    public double[] solve() {
+        return gauss.solve(free);
+    }
+}
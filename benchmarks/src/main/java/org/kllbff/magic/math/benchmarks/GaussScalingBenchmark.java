@@ -0,0 +1,71 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.algothms.GaussAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parallel elimination of {@link GaussAlgorithm} with pools of different size. 
+ * Zero threads means sequential elimination without any pool
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussScalingBenchmark {
+    @Param({"32", "64"})
+    public int size;
+    
+    @Param({"integers", "sparse"})
+    public String distribution;
+    
+    @Param({"0", "1", "2", "4", "8", "16"})
+    public int threads;
+    
+    private ForkJoinPool pool;
+    private GaussAlgorithm gauss;
+    private Number[] free;
+    
+    @Setup
+    public void setup() {
+        gauss = new GaussAlgorithm(size);
+        gauss.add(Values.matrix(distribution, size));
+        if(threads > 0) {
+            pool = new ForkJoinPool(threads);
+            gauss.setParallelism(pool, 8);
+        }
+        
+        double[] values = Values.vector(distribution, size);
+        free = new Number[size];
+        for(int i = 0; i < size; i++) {
+            free[i] = values[i];
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        if(pool != null) {
+            pool.shutdown();
+        }
+    }
+    
+    @Benchmark
+    public double[] solve() {
+        return gauss.solve(free);
+    }
+}
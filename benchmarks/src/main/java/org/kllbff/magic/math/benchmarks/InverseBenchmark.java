@@ -0,0 +1,75 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Fraction;
+import org.kllbff.magic.math.structs.FractionsMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares adjugate, calculated by minors of all cells, with fraction-free elimination of {@link FractionsMatrix#adjugate()},
+ * and measures primitive {@link DoubleMatrix#inverse()}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InverseBenchmark {
+    @Param({"4", "8", "16"})
+    public int size;
+    
+    private FractionsMatrix fractions;
+    private FractionsMatrix result;
+    private DoubleMatrix primitive;
+    
+    @Setup
+    public void setup() {
+        fractions = new FractionsMatrix(size, size);
+        primitive = new DoubleMatrix(size, size);
+        for(double value : Values.matrix("integers", size)) {
+            fractions.add(value);
+            primitive.add(value);
+        }
+        result = new FractionsMatrix(size, size);
+    }
+    
+    @Benchmark
+    public FractionsMatrix minorsAdjugate() {
+        Fraction minusOne = new Fraction(-1);
+        for(int x = 0; x < size; x++) {
+            for(int y = 0; y < size; y++) {
+                Fraction minor = fractions.getMinorFor(y, x);
+                result.set(x, y, (x + y) % 2 == 0 ? minor : minor.mul(minusOne));
+            }
+        }
+        return result;
+    }
+    
+    @Benchmark
+    public FractionsMatrix adjugate() {
+        return fractions.adjugate(result);
+    }
+    
+    @Benchmark
+    public FractionsMatrix inverse() {
+        return fractions.inverse(result);
+    }
+    
+    @Benchmark
+    public DoubleMatrix primitiveInverse() {
+        return primitive.inverse();
+    }
+}
@@ -0,0 +1,78 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.LUFactorization;
+import org.kllbff.magic.math.structs.MappedDoubleMatrix;
+import org.kllbff.magic.math.structs.MappedLUFactorization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares in-place panel LU decomposition of matrix in memory-mapped file with LU decomposition of the same matrix in heap.
+ * Decomposition replaces cells of file, so each invocation writes initial rows back before decomposition
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedBenchmark {
+    @Param({"256", "512"})
+    public int size;
+
+    @Param({"1", "64"})
+    public int panel;
+
+    private double[] values;
+    private double[] free;
+    private DoubleMatrix matrix;
+    private Path file;
+    private MappedDoubleMatrix mapped;
+
+    @Setup
+    public void setup() throws IOException {
+        values = Values.matrix("decimals", size);
+        free = Values.vector("decimals", size);
+        matrix = new DoubleMatrix(size, size);
+        for(double value : values) {
+            matrix.add(value);
+        }
+        file = Files.createTempFile("mapped", ".matrix");
+        mapped = new MappedDoubleMatrix(file, size, size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mapped.close();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public double[] mappedLU() {
+        for(int y = 0; y < size; y++) {
+            mapped.writeRow(y, 0, values, y * size, size);
+        }
+        return new MappedLUFactorization(mapped, panel).solve(free);
+    }
+
+    @Benchmark
+    public double[] heapLU() {
+        return new LUFactorization(matrix).solve(free);
+    }
+}
@@ -0,0 +1,68 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.FractionsMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+    @Param({"2", "3", "4", "8", "16", "32", "64"})
+    public int size;
+    
+    @Param({"integers", "decimals", "sparse"})
+    public String distribution;
+    
+    @Param({"Double", "Fraction"})
+    public String type;
+    
+    private Matrix<?> matrix;
+    
+    @Setup
+    public void setup() {
+        double[] values = Values.matrix(distribution, size);
+        if(type.equals("Fraction")) {
+            FractionsMatrix fractions = new FractionsMatrix(size, size);
+            for(double v : values) {
+                fractions.add(v);
+            }
+            matrix = fractions;
+        } else {
+            Matrix<Double> doubles = new Matrix<Double>(size, size);
+            for(double v : values) {
+                doubles.add(v);
+            }
+            matrix = doubles;
+        }
+    }
+    
+    @Benchmark
+    public Number determinant() {
+        return matrix.getDeterminant();
+    }
+    
+    @Benchmark
+    public Matrix<?> multiply() {
+        if(matrix instanceof FractionsMatrix) {
+            FractionsMatrix fractions = (FractionsMatrix)matrix;
+            return fractions.multiply(fractions);
+        }
+        return matrix.multiply(matrix);
+    }
+}
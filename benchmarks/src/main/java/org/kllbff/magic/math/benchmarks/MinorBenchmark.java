@@ -0,0 +1,78 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DeterminantMethod;
+import org.kllbff.magic.math.structs.FractionsMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinorBenchmark {
+    @Param({"4", "8", "16"})
+    public int size;
+    
+    @Param({"Double", "Fraction"})
+    public String type;
+    
+    private Matrix<?> matrix;
+    
+    @Setup
+    public void setup() {
+        double[] values = Values.matrix("integers", size);
+        if(type.equals("Fraction")) {
+            FractionsMatrix fractions = new FractionsMatrix(size, size);
+            for(double v : values) {
+                fractions.add(v);
+            }
+            matrix = fractions;
+        } else {
+            Matrix<Double> doubles = new Matrix<Double>(size, size);
+            for(double v : values) {
+                doubles.add(v);
+            }
+            matrix = doubles;
+        }
+    }
+    
+    /* all minors, each one from copy of matrix with struck out column and row */
+    @Benchmark
+    public double copyMinors() {
+        double sum = 0.0;
+        for(int y = 0; y < size; y++) {
+            for(int x = 0; x < size; x++) {
+                Matrix<?> copy = matrix.copy();
+                copy.strikeOutColumn(x).strikeOutRow(y);
+                sum += copy.getDeterminant(DeterminantMethod.AUTO).doubleValue();
+            }
+        }
+        return sum;
+    }
+    
+    /* all minors over views */
+    @Benchmark
+    public double viewMinors() {
+        double sum = 0.0;
+        for(int y = 0; y < size; y++) {
+            for(int x = 0; x < size; x++) {
+                sum += matrix.getMinorFor(x, y).doubleValue();
+            }
+        }
+        return sum;
+    }
+}
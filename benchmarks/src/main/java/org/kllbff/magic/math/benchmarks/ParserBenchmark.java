@@ -0,0 +1,83 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.FractionsMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.MatrixParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares streaming {@link MatrixParser} with reading lines, splitting them into strings and parsing each string by {@link Double#parseDouble(String)}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"256"})
+    public int size;
+    
+    @Param({"decimals", "integers"})
+    public String distribution;
+    
+    private byte[] text;
+    
+    @Setup
+    public void setup() {
+        double[] values = Values.matrix(distribution, size);
+        StringBuilder builder = new StringBuilder();
+        for(int y = 0; y < size; y++) {
+            for(int x = 0; x < size; x++) {
+                builder.append(values[y * size + x]).append(x < size - 1 ? ' ' : '\n');
+            }
+        }
+        text = builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    @Benchmark
+    public Matrix<Double> splitLines() throws IOException {
+        Matrix<Double> matrix = new Matrix<Double>(size, size);
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text), StandardCharsets.US_ASCII))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                for(String cell : line.split(" ")) {
+                    matrix.add(Double.parseDouble(cell));
+                }
+            }
+        }
+        return matrix;
+    }
+    
+    @Benchmark
+    public DoubleMatrix parseDoubles() throws IOException {
+        try(MatrixParser parser = new MatrixParser(new ByteArrayInputStream(text))) {
+            return parser.readDoubleMatrix();
+        }
+    }
+    
+    @Benchmark
+    public FractionsMatrix parseFractions() throws IOException {
+        try(MatrixParser parser = new MatrixParser(new ByteArrayInputStream(text))) {
+            return parser.readFractionsMatrix();
+        }
+    }
+}
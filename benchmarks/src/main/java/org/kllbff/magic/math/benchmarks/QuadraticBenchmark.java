@@ -0,0 +1,68 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.QuadraticEquation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares batch solving of equations, given by columns of coefficients, with solving by one object per equation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticBenchmark {
+    @Param({"1000", "1000000"})
+    public int count;
+    
+    @Param({"false", "true"})
+    public boolean parallel;
+    
+    private double[] a, b, c, root1, root2;
+    private boolean[] hasRoots;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(Values.SEED);
+        a = new double[count];
+        b = new double[count];
+        c = new double[count];
+        for(int i = 0; i < count; i++) {
+            a[i] = random.nextDouble() + 0.5;
+            b[i] = random.nextGaussian() * 10;
+            c[i] = random.nextGaussian();
+        }
+        root1 = new double[count];
+        root2 = new double[count];
+        hasRoots = new boolean[count];
+        QuadraticEquation.setParallelThreshold(parallel ? 0 : Integer.MAX_VALUE);
+    }
+    
+    @Benchmark
+    public double[] solveAll() {
+        QuadraticEquation.solveAll(a, b, c, root1, root2, hasRoots);
+        return root1;
+    }
+    
+    @Benchmark
+    public void solveEach(Blackhole blackhole) {
+        for(int i = 0; i < count; i++) {
+            blackhole.consume(new QuadraticEquation(a[i], b[i], c[i]).solve());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.DigitsRounder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares fast and correct rounding of array of values with rounding by {@link BigDecimal}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundingBenchmark {
+    @Param({"2", "10"})
+    public int digits;
+    
+    private double[] values, result;
+    
+    @Setup
+    public void setup() {
+        values = Values.vector("decimals", 10_000);
+        for(int i = 0; i < values.length; i++) {
+            values[i] += i / 1000.0;
+        }
+        result = new double[values.length];
+    }
+    
+    @Benchmark
+    public double[] round() {
+        return DigitsRounder.round(values, digits, result);
+    }
+    
+    @Benchmark
+    public double[] roundCorrectly() {
+        return DigitsRounder.roundCorrectly(values, digits, result);
+    }
+    
+    @Benchmark
+    public double[] bigDecimal() {
+        for(int i = 0; i < values.length; i++) {
+            result[i] = BigDecimal.valueOf(values[i]).setScale(digits, RoundingMode.HALF_UP).doubleValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.RowCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowBenchmark {
+    @Param({"64", "256"})
+    public int size;
+    
+    private Matrix<Double> matrix;
+    private DoubleMatrix primitive;
+    private double[] row;
+    private RowCursor cursor;
+    private RowCursor primitiveCursor;
+    
+    @Setup
+    public void setup() {
+        primitive = new DoubleMatrix(size, size);
+        for(double v : Values.matrix("decimals", size)) {
+            primitive.add(v);
+        }
+        matrix = primitive.toMatrix();
+        row = new double[size];
+        cursor = matrix.rows();
+        primitiveCursor = primitive.rows();
+    }
+    
+    /* sum of all rows, each row is a new list */
+    @Benchmark
+    public double getRow() {
+        double sum = 0.0;
+        for(int y = 0; y < size; y++) {
+            List<Double> values = matrix.getRow(y);
+            for(int x = 0; x < size; x++) {
+                sum += values.get(x);
+            }
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public double copyRowInto() {
+        double sum = 0.0;
+        for(int y = 0; y < size; y++) {
+            matrix.copyRowInto(y, row);
+            for(int x = 0; x < size; x++) {
+                sum += row[x];
+            }
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public double cursor() {
+        return sum(cursor.reset());
+    }
+    
+    @Benchmark
+    public double primitiveGetRow() {
+        double sum = 0.0;
+        for(int y = 0; y < size; y++) {
+            double[] values = primitive.getRow(y);
+            for(int x = 0; x < size; x++) {
+                sum += values[x];
+            }
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public double primitiveCursor() {
+        return sum(primitiveCursor.reset());
+    }
+    
+    private static double sum(RowCursor cursor) {
+        double sum = 0.0;
+        while(cursor.next()) {
+            double[] values = cursor.getValues();
+            for(int i = cursor.getOffset(), end = i + cursor.getLength(); i < end; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+}
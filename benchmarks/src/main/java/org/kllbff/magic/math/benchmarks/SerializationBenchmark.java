@@ -0,0 +1,93 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares binary format of matrices with text dump by {@link Matrix#toString()}.
+ * Written bytes are counted by channel, which drops them, so only serialization is measured
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"64", "256"})
+    public int size;
+    
+    private Matrix<Double> matrix;
+    private DoubleMatrix primitive;
+    private byte[] written;
+    private final WritableByteChannel sink = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer source) {
+            int count = source.remaining();
+            source.position(source.limit());
+            return count;
+        }
+        
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+        
+        @Override
+        public void close() {
+        }
+    };
+    
+    @Setup
+    public void setup() throws IOException {
+        primitive = new DoubleMatrix(size, size);
+        for(double value : Values.matrix("decimals", size)) {
+            primitive.add(value);
+        }
+        matrix = primitive.toMatrix();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        primitive.writeTo(Channels.newChannel(bytes));
+        written = bytes.toByteArray();
+    }
+    
+    @Benchmark
+    public String matrixToString() {
+        return matrix.toString();
+    }
+    
+    @Benchmark
+    public WritableByteChannel matrixWriteTo() throws IOException {
+        matrix.writeTo(sink);
+        return sink;
+    }
+    
+    @Benchmark
+    public WritableByteChannel primitiveWriteTo() throws IOException {
+        primitive.writeTo(sink);
+        return sink;
+    }
+    
+    @Benchmark
+    public DoubleMatrix primitiveReadFrom() throws IOException {
+        return DoubleMatrix.readFrom(Channels.newChannel(new ByteArrayInputStream(written)));
+    }
+}
@@ -0,0 +1,93 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.algothms.ConjugateGradientAlgorithm;
+import org.kllbff.magic.math.algothms.GaussSeidelAlgorithm;
+import org.kllbff.magic.math.algothms.SparseCholeskyAlgorithm;
+import org.kllbff.magic.math.structs.LUFactorization;
+import org.kllbff.magic.math.structs.SparseMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sparse Cholesky solver with dense LU decomposition on system with five-point Laplacian of square grid:
+ * matrix has <i>grid<sup>2</sup></i> rows, but no more than five non-zero cells in each row.
+ * Iterative solvers are created once and reuse their work arrays, each solve starts from zero approximation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseBenchmark {
+    @Param({"8", "16", "32"})
+    public int grid;
+    
+    private SparseMatrix matrix;
+    private double[] free;
+    private double[] result;
+    private ConjugateGradientAlgorithm conjugateGradient;
+    private GaussSeidelAlgorithm gaussSeidel;
+    
+    @Setup
+    public void setup() {
+        int size = grid * grid;
+        matrix = new SparseMatrix(size, size, size * 5);
+        for(int i = 0; i < grid; i++) {
+            for(int j = 0; j < grid; j++) {
+                int row = i * grid + j;
+                if(i > 0) {
+                    matrix.set(row - grid, row, -1);
+                }
+                if(j > 0) {
+                    matrix.set(row - 1, row, -1);
+                }
+                matrix.set(row, row, 4.5);
+                if(j < grid - 1) {
+                    matrix.set(row + 1, row, -1);
+                }
+                if(i < grid - 1) {
+                    matrix.set(row + grid, row, -1);
+                }
+            }
+        }
+        free = Values.vector("decimals", size);
+        result = new double[size];
+        conjugateGradient = new ConjugateGradientAlgorithm(matrix);
+        gaussSeidel = new GaussSeidelAlgorithm(matrix);
+    }
+    
+    @Benchmark
+    public double[] sparseCholesky() {
+        return new SparseCholeskyAlgorithm(matrix).solve(free);
+    }
+    
+    @Benchmark
+    public double[] denseLU() {
+        return new LUFactorization(matrix.toDoubleMatrix()).solve(free);
+    }
+    
+    @Benchmark
+    public double[] conjugateGradient() {
+        Arrays.fill(result, 0.0);
+        return conjugateGradient.solve(free, result);
+    }
+    
+    @Benchmark
+    public double[] gaussSeidel() {
+        Arrays.fill(result, 0.0);
+        return gaussSeidel.solve(free, result);
+    }
+}
@@ -0,0 +1,63 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.Statistics;
+import org.kllbff.magic.math.VarargsMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares boxed varargs methods of {@link VarargsMath} with primitive overloads and one-pass statistics
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+    @Param({"1000", "1000000"})
+    public int count;
+    
+    private double[] values;
+    private Double[] boxed;
+    
+    @Setup
+    public void setup() {
+        values = Values.vector("decimals", count);
+        boxed = new Double[count];
+        for(int i = 0; i < count; i++) {
+            boxed[i] = values[i];
+        }
+    }
+    
+    @Benchmark
+    public double boxedMinMaxAverage() {
+        return VarargsMath.min(boxed) + VarargsMath.max(boxed) + VarargsMath.average((Number[])boxed);
+    }
+    
+    @Benchmark
+    public double primitiveMinMaxAverage() {
+        return VarargsMath.min(values) + VarargsMath.max(values) + VarargsMath.average(values);
+    }
+    
+    @Benchmark
+    public Statistics stats() {
+        return VarargsMath.stats(values);
+    }
+    
+    @Benchmark
+    public Statistics parallelStats() {
+        return VarargsMath.parallelStats(values, 1 << 16);
+    }
+}
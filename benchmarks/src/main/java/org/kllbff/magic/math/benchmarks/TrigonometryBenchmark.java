@@ -0,0 +1,63 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kllbff.magic.math.PlanimetryValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sine of array of angles, calculated by rounding {@link PlanimetryValues#sin(double[], double[])},
+ * table {@link PlanimetryValues#fastSin(double[], double[])} and plain {@link Math#sin(double)}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigonometryBenchmark {
+    @Param({"4096", "65536"})
+    public int resolution;
+    
+    private double[] angles, result;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(Values.SEED);
+        angles = new double[10_000];
+        for(int i = 0; i < angles.length; i++) {
+            angles[i] = (random.nextDouble() - 0.5) * 4 * Math.PI;
+        }
+        result = new double[angles.length];
+        PlanimetryValues.setTableResolution(resolution);
+    }
+    
+    @Benchmark
+    public double[] sin() {
+        return PlanimetryValues.sin(angles, result);
+    }
+    
+    @Benchmark
+    public double[] fastSin() {
+        return PlanimetryValues.fastSin(angles, result);
+    }
+    
+    @Benchmark
+    public double[] mathSin() {
+        for(int i = 0; i < angles.length; i++) {
+            result[i] = Math.sin(angles[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package org.kllbff.magic.math.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible benchmark data for one of the value distributions:
+ * <dl>
+ *     <dt>integers</dt>
+ *     <dd>whole values from -9 to 9</dd>
+ *     <dt>decimals</dt>
+ *     <dd>values from -10 to 10 with two decimal digits</dd>
+ *     <dt>sparse</dt>
+ *     <dd>whole values, but only each tenth value is not zero</dd>
+ * </dl>
+ * 
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+final class Values {
+    static final long SEED = 20_181_017L;
+    
+    private Values() {}
+    
+    static double next(Random random, String distribution) {
+        switch(distribution) {
+            case "integers": return random.nextInt(19) - 9;
+            case "decimals": return Math.round((random.nextDouble() * 20 - 10) * 100) / 100.0;
+            case "sparse": return random.nextInt(10) == 0 ? random.nextInt(19) - 9 : 0;
+            default: throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+    }
+    
+    static double[] vector(String distribution, int count) {
+        Random random = new Random(SEED + count);
+        double[] values = new double[count];
+        for(int i = 0; i < count; i++) {
+            values[i] = next(random, distribution);
+        }
+        return values;
+    }
+    
+    /**
+     * Returns cells of square matrix, row by row. Diagonal dominates in each row, so matrix is never singular and systems with it have single solution
+     */
+    static double[] matrix(String distribution, int size) {
+        Random random = new Random(SEED * size);
+        double[] values = new double[size * size];
+        for(int y = 0; y < size; y++) {
+            double sum = 0;
+            for(int x = 0; x < size; x++) {
+                if(x != y) {
+                    values[y * size + x] = next(random, distribution);
+                    sum += Math.abs(values[y * size + x]);
+                }
+            }
+            values[y * size + y] = Math.floor(sum) + 1 + random.nextInt(9);
+        }
+        return values;
+    }
+}
@@ -1,13 +1,37 @@
 package org.kllbff.magic.math;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 public class DigitsRounder {
     public static final int MAX_DIGITS_COUNT = 16;
-    
+    private static final double[] POWERS_OF_TEN = new double[MAX_DIGITS_COUNT];
+    /* scaled values not less than this bound have no fractional part */
+    private static final double INTEGRAL_BOUND = 0x1p52;
+    /* below this bound one ulp of scaled value is much less than 0.1, so it cannot cover two decimals with one more digit */
+    private static final double TIE_BOUND = 0x1p46;
+    /* 2^27 + 1, splits double into two halves with 26 significant bits each */
+    private static final double SPLITTER = 134217729.0;
+    /* half of ulp is power of two of value, multiplied by 2^-53 */
+    private static final long EXPONENT_MASK = 0x7ff0000000000000L;
+    private static final double HALF_ULP = 0x1p-53;
+
+    static {
+        double power = 1;
+        for(int i = 0; i < MAX_DIGITS_COUNT; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
     /**
      * Returns a value, rounded to specified number of decimal digits
      * <p>If specified digits count greater than {@value #MAX_DIGITS_COUNT}, returned initial value</p>
-     * <p>If specified digits count is negative number, returns {@link Double#NEGATIVE_INFINITY} value</p>
-     * 
+     * <p>If specified digits count is negative number, returned initial value</p>
+     * <p>Value is multiplied by power of ten, rounded by {@link Math#round(double)} and divided back. This is fast, but product can be rounded
+     *    before {@link Math#round(double)}: for example, 1.005 is stored as 1.00499999999999989..., so it is rounded to 1.0 with two digits.
+     *    Use {@link #roundCorrectly(double, int)} to round values as they are written</p>
+     *
      * @param value initial value
      * @param digitsNumber specified number of decimal digit
      * @return value, rounded to specified number of decimal digits
@@ -19,12 +43,127 @@ public class DigitsRounder {
         if(digitsNumber < 0) {
             return value;
         }
-        if(digitsNumber == 0) {
-            return Math.round(value);                    
+
+        double multiplexor = POWERS_OF_TEN[digitsNumber];
+        double scaled = value * multiplexor;
+        if(!(Math.abs(scaled) < INTEGRAL_BOUND)) {
+            return value;
+        }
+
+        return Math.round(scaled) / multiplexor;
+    }
+
+    /**
+     * Returns a value, rounded to specified number of decimal digits as it is written
+     * <p>If value is the nearest <code>double</code> to decimal number, which is exactly in the middle between two rounded numbers (such as 1.005 for two digits),
+     *    it is rounded away from zero. All other values are rounded to nearest decimal number. The result equals to
+     *    <code>BigDecimal.valueOf(value).setScale(digitsNumber, RoundingMode.HALF_UP).doubleValue()</code>, but this method does not create any objects for
+     *    values less than 7&#183;10<sup>13</sup> after scaling</p>
+     * <p>If specified digits count greater than {@value #MAX_DIGITS_COUNT} or negative, returned initial value</p>
+     *
+     * @param value initial value
+     * @param digitsNumber specified number of decimal digit
+     * @return value, rounded to specified number of decimal digits
+     */
+    public static final double roundCorrectly(double value, int digitsNumber) {
+        if(digitsNumber >= MAX_DIGITS_COUNT || digitsNumber < 0) {
+            return value;
+        }
+
+        double multiplexor = POWERS_OF_TEN[digitsNumber];
+        double scaled = value * multiplexor;
+        if(!(Math.abs(scaled) < TIE_BOUND)) {
+            if(Double.isNaN(value) || Double.isInfinite(value)) {
+                return value;
+            }
+            return BigDecimal.valueOf(value).setScale(digitsNumber, RoundingMode.HALF_UP).doubleValue();
+        }
+
+        /* exact product is scaled + error, error is found by Dekker's algorithm */
+        double t = SPLITTER * value;
+        double high = t - (t - value);
+        double low = value - high;
+        t = SPLITTER * multiplexor;
+        double mhigh = t - (t - multiplexor);
+        double mlow = multiplexor - mhigh;
+        double error = ((high * mhigh - scaled) + high * mlow + low * mhigh) + low * mlow;
+
+        double floor = Math.floor(scaled);
+        /* distance from exact product to middle between floor and next number; it is tie if value is the nearest double to the middle,
+           ties are moved away from zero by tie width, so rounding needs no branches */
+        double distance = (scaled - (floor + 0.5)) + error;
+        double tie = Double.longBitsToDouble(Double.doubleToRawLongBits(value) & EXPONENT_MASK) * HALF_ULP * multiplexor;
+        double rounded = floor + 1 + Math.floor(distance + Math.copySign(tie, value));
+        return rounded / multiplexor;
+    }
+
+    /**
+     * Rounds each value by {@link #round(double, int)} and writes results into given array
+     *
+     * @param values initial values
+     * @param digitsNumber specified number of decimal digit
+     * @param result array for rounded values, must have at least as many items as values; it can be the values array
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than values array
+     */
+    public static final double[] round(double[] values, int digitsNumber, double[] result) {
+        checkLength(values, result);
+        if(digitsNumber >= MAX_DIGITS_COUNT || digitsNumber < 0) {
+            System.arraycopy(values, 0, result, 0, values.length);
+            return result;
+        }
+
+        double multiplexor = POWERS_OF_TEN[digitsNumber];
+        for(int i = 0; i < values.length; i++) {
+            double value = values[i];
+            double scaled = value * multiplexor;
+            result[i] = Math.abs(scaled) < INTEGRAL_BOUND ? Math.round(scaled) / multiplexor : value;
+        }
+        return result;
+    }
+
+    /**
+     * Rounds each value of given array by {@link #round(double, int)} in place
+     *
+     * @param values values for rounding
+     * @param digitsNumber specified number of decimal digit
+     * @return given array
+     */
+    public static final double[] round(double[] values, int digitsNumber) {
+        return round(values, digitsNumber, values);
+    }
+
+    /**
+     * Rounds each value by {@link #roundCorrectly(double, int)} and writes results into given array
+     *
+     * @param values initial values
+     * @param digitsNumber specified number of decimal digit
+     * @param result array for rounded values, must have at least as many items as values; it can be the values array
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than values array
+     */
+    public static final double[] roundCorrectly(double[] values, int digitsNumber, double[] result) {
+        checkLength(values, result);
+        for(int i = 0; i < values.length; i++) {
+            result[i] = roundCorrectly(values[i], digitsNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Rounds each value of given array by {@link #roundCorrectly(double, int)} in place
+     *
+     * @param values values for rounding
+     * @param digitsNumber specified number of decimal digit
+     * @return given array
+     */
+    public static final double[] roundCorrectly(double[] values, int digitsNumber) {
+        return roundCorrectly(values, digitsNumber, values);
+    }
+
+    private static void checkLength(double[] values, double[] result) {
+        if(result.length < values.length) {
+            throw new RuntimeException("Result array has not enough items: " + result.length + ", " + values.length + " need");
         }
-        
-        double multiplexor = Math.pow(10, digitsNumber);
-        
-        return Math.round(value * multiplexor) / multiplexor;
     }
 }
@@ -9,6 +9,10 @@ import static org.kllbff.magic.math.DigitsRounder.round;
  *     <li>Cosine of angle: {@link #cos(double)}</ul>
  * </ul>
  * 
+ * Both functions have fast versions, {@link #fastSin(double)} and {@link #fastCos(double)}, which use precomputed table of sine values with linear interpolation
+ * instead of {@link Math#sin(double)}. Accuracy of fast versions depends on size of table, see {@link #setTableResolution(int)}.
+ * All functions have versions for arrays of angles, which write results into given array without allocating memory.
+ * 
  * Also class contains some previously calculated values, such as
  * <ul>
  *     <li>PI / 2 - radian measure of 90 degrees angle;</li>
@@ -28,14 +32,51 @@ public class PlanimetryValues {
                                PI4 = Math.PI / 4;
     public static final double SQRT_OF_TWO   = Math.sqrt(2),
                                SQRT_OF_THREE = Math.sqrt(3);
+    public static final int DEFAULT_TABLE_RESOLUTION = 4096;
+    private static final double RADIANS_TO_DEGREES = 180 / Math.PI;
+    /* sine values for angles 2 * PI * i / resolution, last item repeats first one, so interpolation never checks bounds */
+    private static volatile double[] table = createTable(DEFAULT_TABLE_RESOLUTION);
+    
+    private static double[] createTable(int resolution) {
+        double[] table = new double[resolution + 1];
+        for(int i = 0; i < resolution; i++) {
+            table[i] = Math.sin(2 * Math.PI * i / resolution);
+        }
+        table[resolution] = table[0];
+        return table;
+    }
     
     /**
-     * Returns sinus of specified angle
-     * <p>Default {@link Math#sin(double)} method can return vary accuracy value, such as <code>6.123031769111886e-17</code> for sin(&#960; / 2).
+     * Returns count of values in sine table, used by fast functions
+     * 
+     * @return count of angles of full circle in table
+     */
+    public static int getTableResolution() {
+        return table.length - 1;
+    }
+    
+    /**
+     * Creates a new sine table for fast functions
+     * <p>Error of linear interpolation is about <code>(2&#960; / resolution)<sup>2</sup> / 8</code>: nearly 3&#183;10<sup>-7</sup> for default resolution
+     *    {@value #DEFAULT_TABLE_RESOLUTION}, and 4 times less for each doubling of resolution. Table needs <code>8 &#215; resolution</code> bytes of memory</p>
+     * 
+     * @param resolution count of angles of full circle, must be power of two, not less than 4
+     * @throws RuntimeException if resolution is not power of two or less than 4
+     */
+    public static void setTableResolution(int resolution) {
+        if(resolution < 4 || (resolution & (resolution - 1)) != 0) {
+            throw new RuntimeException("Table resolution must be power of two, not less than 4 (given " + resolution + ")");
+        }
+        table = createTable(resolution);
+    }
+    
+    /**
+     * Returns cosine of specified angle
+     * <p>Default {@link Math#cos(double)} method can return vary accuracy value, such as <code>6.123031769111886e-17</code> for cos(&#960; / 2).
      *    This method returns fixed values for basic angles: 0, 90, 180 and 270 degrees. Thus, you no longer need to manually keep track of and rounding the value for the most proper use and display</p>
      * 
      * @param angle specified angle, in radians
-     * @return sinus of specified angle
+     * @return cosine of specified angle
      */
     public static double cos(double angle) {
         int degrees = (int)round(Math.toDegrees(round(angle, 5)), 0);
@@ -50,12 +91,12 @@ public class PlanimetryValues {
     }
     
     /**
-     * Returns cosine of specified angle
-     * <p>Default {@link Math#sin(double)} method can return vary accuracy value, such as <code>-6.123031769111886e-17</code> for cos(&#960;).
+     * Returns sinus of specified angle
+     * <p>Default {@link Math#sin(double)} method can return vary accuracy value, such as <code>1.2246467991473532e-16</code> for sin(&#960;).
      *    This method returns fixed values for basic angles: 0, 90, 180 and 270 degrees. Thus, you no longer need to manually keep track of and rounding the value for the most proper use and display</p>
      * 
      * @param angle specified angle, in radians
-     * @return cosine of specified angle
+     * @return sinus of specified angle
      */
     public static double sin(double angle) {
         int degrees = (int)round(Math.toDegrees(round(angle, 5)), 0);
@@ -68,4 +109,119 @@ public class PlanimetryValues {
             default: return round(Math.sin(angle), 10);
         }
     }
+    
+    /**
+     * Calculates cosine of each angle by {@link #cos(double)}
+     * 
+     * @param angles specified angles, in radians
+     * @param result array for cosines, must have at least as many items as angles
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than angles array
+     */
+    public static double[] cos(double[] angles, double[] result) {
+        checkLength(angles, result);
+        for(int i = 0; i < angles.length; i++) {
+            result[i] = cos(angles[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Calculates sinus of each angle by {@link #sin(double)}
+     * 
+     * @param angles specified angles, in radians
+     * @param result array for sinuses, must have at least as many items as angles
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than angles array
+     */
+    public static double[] sin(double[] angles, double[] result) {
+        checkLength(angles, result);
+        for(int i = 0; i < angles.length; i++) {
+            result[i] = sin(angles[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns cosine of specified angle, interpolated by sine table
+     * <p>Like {@link #cos(double)}, this method returns fixed values for angles, which are rounded to 0, 90, 180 and 270 degrees. 
+     *    All other values are not rounded and have error of interpolation, see {@link #setTableResolution(int)}</p>
+     * 
+     * @param angle specified angle, in radians
+     * @return cosine of specified angle
+     */
+    public static double fastCos(double angle) {
+        return interpolate(table, angle, 1);
+    }
+    
+    /**
+     * Returns sinus of specified angle, interpolated by sine table
+     * <p>Like {@link #sin(double)}, this method returns fixed values for angles, which are rounded to 0, 90, 180 and 270 degrees. 
+     *    All other values are not rounded and have error of interpolation, see {@link #setTableResolution(int)}</p>
+     * 
+     * @param angle specified angle, in radians
+     * @return sinus of specified angle
+     */
+    public static double fastSin(double angle) {
+        return interpolate(table, angle, 0);
+    }
+    
+    /**
+     * Calculates cosine of each angle by {@link #fastCos(double)}
+     * 
+     * @param angles specified angles, in radians
+     * @param result array for cosines, must have at least as many items as angles
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than angles array
+     */
+    public static double[] fastCos(double[] angles, double[] result) {
+        checkLength(angles, result);
+        double[] table = PlanimetryValues.table;
+        for(int i = 0; i < angles.length; i++) {
+            result[i] = interpolate(table, angles[i], 1);
+        }
+        return result;
+    }
+    
+    /**
+     * Calculates sinus of each angle by {@link #fastSin(double)}
+     * 
+     * @param angles specified angles, in radians
+     * @param result array for sinuses, must have at least as many items as angles
+     * @return given result array
+     * @throws RuntimeException if result array is shorter than angles array
+     */
+    public static double[] fastSin(double[] angles, double[] result) {
+        checkLength(angles, result);
+        double[] table = PlanimetryValues.table;
+        for(int i = 0; i < angles.length; i++) {
+            result[i] = interpolate(table, angles[i], 0);
+        }
+        return result;
+    }
+    
+    private static void checkLength(double[] angles, double[] result) {
+        if(result.length < angles.length) {
+            throw new RuntimeException("Result array has not enough items: " + result.length + ", " + angles.length + " need");
+        }
+    }
+    
+    /* quarter is a count of quarters of circle, added to angle: 0 for sine, 1 for cosine */
+    private static double interpolate(double[] table, double angle, int quarter) {
+        long degrees = Math.round(angle * RADIANS_TO_DEGREES) + quarter * 90;
+        if(degrees % 90 == 0) {
+            switch((int)Math.floorMod(degrees, 360L)) {
+                case 90: return 1;
+                case 270: return -1;
+                default: return 0;
+            }
+        }
+        
+        int resolution = table.length - 1;
+        double position = angle * (resolution / (2 * Math.PI));
+        double floor = Math.floor(position);
+        int index = ((int)(long)floor + quarter * (resolution >> 2)) & (resolution - 1);
+        double lower = table[index];
+        return lower + (position - floor) * (table[index + 1] - lower);
+    }
 }
@@ -0,0 +1,157 @@
+package org.kllbff.magic.math;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * <h3>Keeps count, minimum, maximum, mean and variance of sequence of values</h3>
+ * <p>Statistics is calculated in one pass: each value is added by {@link #accept(double)}, mean and sum of squared deviations are updated by
+ *    <a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Welford's_online_algorithm">Welford's algorithm</a>.
+ *    Two statistics of different parts of sequence are joined by {@link #combine(Statistics)}, so Statistics can be used as container for
+ *    parallel streams:
+ *    <pre>
+ *    Statistics statistics = stream.parallel().collect(Statistics::new, Statistics::accept, Statistics::combine);
+ *    </pre>
+ *    See also {@link VarargsMath#stats(double[])} and {@link VarargsMath#statistics()}</p>
+ * <p>Statistics of empty sequence has zero count, and <code>NaN</code> for all other values</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class Statistics implements DoubleConsumer {
+    private long count;
+    private double min, max;
+    private double mean, m2;
+
+    /**
+     * Creates statistics of empty sequence
+     */
+    public Statistics() {
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    Statistics(long count, double min, double max, double mean, double m2) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    /**
+     * Adds value to sequence
+     *
+     * @param value next value
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if(value < min) {
+            min = value;
+        }
+        if(value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Joins other statistics to this one: result is statistics of both sequences
+     *
+     * @param other statistics of other sequence
+     * @return pointer to this Statistics
+     */
+    public Statistics combine(Statistics other) {
+        if(other.count == 0) {
+            return this;
+        }
+        if(count == 0) {
+            count = other.count;
+            min = other.min;
+            max = other.max;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double)count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Returns count of values
+     *
+     * @return count of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns minimal value
+     *
+     * @return minimal value or <code>NaN</code> for empty sequence
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Returns maximal value
+     *
+     * @return maximal value or <code>NaN</code> for empty sequence
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Returns arithmetic mean of values
+     *
+     * @return mean value or <code>NaN</code> for empty sequence
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns population variance: mean of squared deviations from mean
+     *
+     * @return variance or <code>NaN</code> for empty sequence
+     */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * Returns sample variance: sum of squared deviations from mean, divided by <code>count - 1</code>
+     *
+     * @return sample variance or <code>NaN</code> if sequence has less than two values
+     */
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * Returns population standard deviation: square root of {@link #getVariance()}
+     *
+     * @return standard deviation or <code>NaN</code> for empty sequence
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "Statistics [count=" + count + ", min=" + getMin() + ", max=" + getMax() + ", mean=" + getMean() + ", variance=" + getVariance() + "]";
+    }
+}
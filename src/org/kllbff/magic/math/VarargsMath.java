@@ -1,8 +1,19 @@
 package org.kllbff.magic.math;
 
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
 /**
  * <h3>Provides some methods, similar to {@link Math} class's methods</h3>
  * <p>All methods implemented to work with varargs - an array of unlimited length<p>
+ * <p>{@link #min(double[])}, {@link #max(double[])} and {@link #average(double[])} have versions for arrays of primitive <code>double</code>,
+ *    <code>long</code> and <code>int</code> values, which work without boxing, and versions for part of array, given by offset and length.
+ *    Minimal and maximal values of empty part cannot be found, so these methods throw RuntimeException for it</p>
+ * <p>{@link #stats(double[])} calculates minimum, maximum, mean and variance in one pass, see {@link Statistics}.
+ *    Statistics of streams are calculated by {@link #stats(DoubleStream)} and collectors {@link #statistics()} and {@link #statistics(ToDoubleFunction)},
+ *    which can work in parallel</p>
  * 
  * @author Kirill Bogatikov
  * @since 1.0
@@ -60,17 +71,400 @@ public final class VarargsMath {
         return average / numbers.length;
     }
     
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if(offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new RuntimeException("Range [" + offset + ", " + offset + " + " + length + ") is out of array with " + arrayLength + " items");
+        }
+    }
+    
+    private static void checkNotEmpty(int length) {
+        if(length == 0) {
+            throw new RuntimeException("Cannot find extremum of empty range");
+        }
+    }
+    
+    /**
+     * Returns a minimal value from given array
+     * 
+     * @param values array of values
+     * @return minimal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static double min(double[] values) {
+        return min(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a minimal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return minimal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static double min(double[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        double min = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            if(values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+    
+    /**
+     * Returns a minimal value from given array
+     * 
+     * @param values array of values
+     * @return minimal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static long min(long[] values) {
+        return min(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a minimal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return minimal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static long min(long[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        long min = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+    
+    /**
+     * Returns a minimal value from given array
+     * 
+     * @param values array of values
+     * @return minimal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static int min(int[] values) {
+        return min(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a minimal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return minimal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static int min(int[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        int min = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+    
+    /**
+     * Returns a maximal value from given array
+     * 
+     * @param values array of values
+     * @return maximal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static double max(double[] values) {
+        return max(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a maximal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return maximal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static double max(double[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        double max = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            if(values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Returns a maximal value from given array
+     * 
+     * @param values array of values
+     * @return maximal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static long max(long[] values) {
+        return max(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a maximal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return maximal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static long max(long[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        long max = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+    
+    /**
+     * Returns a maximal value from given array
+     * 
+     * @param values array of values
+     * @return maximal value from array
+     * @throws RuntimeException if array is empty
+     */
+    public static int max(int[] values) {
+        return max(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a maximal value from part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return maximal value from part of array
+     * @throws RuntimeException if part is empty or out of array
+     */
+    public static int max(int[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        checkNotEmpty(length);
+        int max = values[offset];
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+    
+    /**
+     * Returns a average value of given array
+     * 
+     * @param values array of values
+     * @return average value or <code>NaN</code> for empty array
+     */
+    public static double average(double[] values) {
+        return average(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a average value of part of given array
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return average value or <code>NaN</code> for empty part
+     * @throws RuntimeException if part is out of array
+     */
+    public static double average(double[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        double sum = 0.0;
+        for(int i = offset, end = offset + length; i < end; i++) {
+            sum += values[i];
+        }
+        return sum / length;
+    }
+    
+    /**
+     * Returns a average value of given array
+     * 
+     * @param values array of values
+     * @return average value or <code>NaN</code> for empty array
+     */
+    public static double average(long[] values) {
+        return average(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a average value of part of given array
+     * <p>Values are summed as <code>double</code>, so sum cannot overflow</p>
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return average value or <code>NaN</code> for empty part
+     * @throws RuntimeException if part is out of array
+     */
+    public static double average(long[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        double sum = 0.0;
+        for(int i = offset, end = offset + length; i < end; i++) {
+            sum += values[i];
+        }
+        return sum / length;
+    }
+    
+    /**
+     * Returns a average value of given array
+     * 
+     * @param values array of values
+     * @return average value or <code>NaN</code> for empty array
+     */
+    public static double average(int[] values) {
+        return average(values, 0, values.length);
+    }
+    
+    /**
+     * Returns a average value of part of given array
+     * <p>Values are summed as <code>long</code>, so sum of less than 2<sup>32</sup> values cannot overflow</p>
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return average value or <code>NaN</code> for empty part
+     * @throws RuntimeException if part is out of array
+     */
+    public static double average(int[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        long sum = 0;
+        for(int i = offset, end = offset + length; i < end; i++) {
+            sum += values[i];
+        }
+        return (double)sum / length;
+    }
+    
+    /**
+     * Returns count, minimum, maximum, mean and variance of given array, calculated in one pass
+     * 
+     * @param values array of values
+     * @return a new instance of Statistics
+     */
+    public static Statistics stats(double[] values) {
+        return stats(values, 0, values.length);
+    }
+    
+    /**
+     * Returns count, minimum, maximum, mean and variance of part of given array, calculated in one pass
+     * <p>Sums of deviations and squared deviations are calculated from first value of part, 
+     *    see <a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Computing_shifted_data">shifted data algorithm</a>.
+     *    Unlike {@link Statistics#accept(double)}, this loop has no division, so it is much faster</p>
+     * 
+     * @param values array of values
+     * @param offset index of first value
+     * @param length count of values
+     * @return a new instance of Statistics
+     * @throws RuntimeException if part is out of array
+     */
+    public static Statistics stats(double[] values, int offset, int length) {
+        checkRange(values.length, offset, length);
+        if(length == 0) {
+            return new Statistics();
+        }
+        
+        double shift = values[offset];
+        double min = shift, max = shift, sum = 0.0, squares = 0.0;
+        for(int i = offset + 1, end = offset + length; i < end; i++) {
+            double value = values[i];
+            double deviation = value - shift;
+            sum += deviation;
+            squares += deviation * deviation;
+            if(value < min) {
+                min = value;
+            }
+            if(value > max) {
+                max = value;
+            }
+        }
+        double m2 = Math.max(squares - sum * sum / length, 0.0);
+        return new Statistics(length, min, max, shift + sum / length, m2);
+    }
+    
+    /**
+     * Returns statistics of given array, calculated in parallel by common {@link java.util.concurrent.ForkJoinPool ForkJoinPool}
+     * <p>Array is split into parts of <code>chunk</code> values, statistics of each part is calculated by {@link #stats(double[], int, int)}
+     *    and all statistics are joined by {@link Statistics#combine(Statistics)}</p>
+     * 
+     * @param values array of values
+     * @param chunk count of values in one part, must be positive
+     * @return a new instance of Statistics
+     * @throws RuntimeException if chunk is not positive
+     */
+    public static Statistics parallelStats(double[] values, int chunk) {
+        if(chunk < 1) {
+            throw new RuntimeException("Chunk must contain at least one value (given " + chunk + ")");
+        }
+        int parts = (int)(((long)values.length + chunk - 1) / chunk);
+        return IntStream.range(0, parts).parallel()
+                        .mapToObj(part -> {
+                            int offset = part * chunk;
+                            return stats(values, offset, Math.min(chunk, values.length - offset));
+                        })
+                        .collect(Statistics::new, Statistics::combine, Statistics::combine);
+    }
+    
+    /**
+     * Returns statistics of all values of given stream
+     * <p>Parallel stream is processed in parallel</p>
+     * 
+     * @param stream stream of values
+     * @return a new instance of Statistics
+     */
+    public static Statistics stats(DoubleStream stream) {
+        return stream.collect(Statistics::new, Statistics::accept, Statistics::combine);
+    }
+    
+    /**
+     * Returns collector, which calculates {@link Statistics} of stream of numbers
+     * 
+     * @return collector of statistics
+     */
+    public static Collector<Number, Statistics, Statistics> statistics() {
+        return statistics(Number::doubleValue);
+    }
+    
+    /**
+     * Returns collector, which calculates {@link Statistics} of values, extracted from stream's elements by given function
+     * 
+     * @param <T> type of stream's elements
+     * @param mapper function, which returns value of element
+     * @return collector of statistics
+     */
+    public static <T> Collector<T, Statistics, Statistics> statistics(ToDoubleFunction<? super T> mapper) {
+        return Collector.of(Statistics::new, (statistics, element) -> statistics.accept(mapper.applyAsDouble(element)), Statistics::combine, 
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+    
     /**
      * Returns a Great Common Divisor for some long integer values
      * <p>Uses next algorithm: GCD(a, b, c) = GCD(GCD(a, b), c)</p>
-     * <p>For each pair <i>value - last GCD</i> used {@link #gcd(long, long)} method</p>
+     * <p>For each pair <i>value - last GCD</i> used {@link #gcd(long, long)} method. Calculation stops as soon as GCD becomes 1</p>
      * 
      * @param numbers a varargs sequence of given numbers  
      * @return GCD for all values from sequence
      */
     public static long gcd(long... numbers) {
         long gcd = numbers[0];
-        for(int i = 1; i < numbers.length; i++) {
+        for(int i = 1; i < numbers.length && gcd != 1; i++) {
             gcd = gcd(gcd, numbers[i]);
         }
         return gcd;
@@ -78,7 +472,9 @@ public final class VarargsMath {
     
     /**
      * Returns a Great Common Divisor for two long integer values
-     * <p>Uses residual algorithm without recursion</p>
+     * <p>Uses <a href="https://en.wikipedia.org/wiki/Binary_GCD_algorithm">binary (Stein's) algorithm</a>: common power of two is found by 
+     *    {@link Long#numberOfTrailingZeros(long)}, then odd parts are reduced by subtractions and shifts, without slow division</p>
+     * <p>If one of the values is zero, returns 1</p>
      * 
      * @param a first long integer value
      * @param b second long integer value
@@ -88,21 +484,26 @@ public final class VarargsMath {
         if(a == 0 || b == 0) {
             return 1;
         }
-        int k = 1;
         if(a < 0) {
             a = -a;
         }
         if(b < 0) {
             b = -b;
-            if(a < 0) k = -1;
         }
         
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>>= Long.numberOfTrailingZeros(a);
+        
         long t;
-        while (b != 0) {
-            t = b;
-            b = a % b;
-            a = t;
-        }
-        return a * k;
+        do {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if(a > b) {
+                t = b;
+                b = a;
+                a = t;
+            }
+            b -= a;
+        } while(b != 0);
+        return a << shift;
     }
 }
@@ -0,0 +1,81 @@
+package org.kllbff.magic.math.algothms;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.SparseMatrix;
+
+/*
+ * Conjugate gradient method for symmetric positive definite matrices. In exact arithmetic it finds solution
+ * after n iterations, but usually residual becomes small much earlier. Each iteration needs one product of matrix and vector
+ */
+public class ConjugateGradientAlgorithm extends IterativeAlgorithm {
+    private double[] r, p, q;
+    private double rr;
+    
+    public ConjugateGradientAlgorithm(int capacity) {
+        super(capacity);
+    }
+    
+    public ConjugateGradientAlgorithm(Matrix<? extends Number> matrix) {
+        super(matrix);
+    }
+    
+    public ConjugateGradientAlgorithm(DoubleMatrix matrix) {
+        super(matrix);
+    }
+    
+    public ConjugateGradientAlgorithm(SparseMatrix matrix) {
+        super(matrix);
+    }
+    
+    @Override
+    protected void prepare() {
+        if(!matrix.isSymmetric()) {
+            throw new RuntimeException("Conjugate gradient method needs symmetric matrix");
+        }
+        r = new double[capacity];
+        p = new double[capacity];
+        q = new double[capacity];
+    }
+    
+    @Override
+    protected void start(double[] free, double[] x) {
+        matrix.multiply(x, q);
+        rr = 0.0;
+        for(int i = 0; i < capacity; i++) {
+            r[i] = free[i] - q[i];
+            p[i] = r[i];
+            rr += r[i] * r[i];
+        }
+    }
+    
+    /* returns norm of recursively updated residual of new approximation */
+    @Override
+    protected double iterate(double[] free, double[] x) {
+        if(rr == 0.0) {
+            return 0.0;
+        }
+        
+        matrix.multiply(p, q);
+        double pq = 0.0;
+        for(int i = 0; i < capacity; i++) {
+            pq += p[i] * q[i];
+        }
+        if(pq <= 0.0) {
+            throw new RuntimeException("Conjugate gradient method needs positive definite matrix");
+        }
+        
+        double alpha = rr / pq, next = 0.0;
+        for(int i = 0; i < capacity; i++) {
+            x[i] += alpha * p[i];
+            r[i] -= alpha * q[i];
+            next += r[i] * r[i];
+        }
+        double beta = next / rr;
+        for(int i = 0; i < capacity; i++) {
+            p[i] = r[i] + beta * p[i];
+        }
+        rr = next;
+        return Math.sqrt(rr);
+    }
+}
@@ -1,76 +1,265 @@
 package org.kllbff.magic.math.algothms;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.kllbff.magic.math.structs.Fraction;
 import org.kllbff.magic.math.structs.FractionsMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.MutableFraction;
+import org.kllbff.magic.math.structs.RowPermutation;
 
 public class GaussAlgorithm {
     private int capacity;
     private FractionsMatrix matrix;
+    private boolean caching;
+    /* rows of eliminated matrix: multipliers of L under diagonal, U on and over diagonal */
+    private MutableFraction[][] factors;
+    private RowPermutation permutation;
+    private ExecutorService executor;
+    private int parallelThreshold;
     
     public GaussAlgorithm(int capacity) {
+        this(capacity, false);
+    }
+    
+    public GaussAlgorithm(int capacity, boolean caching) {
         matrix = new FractionsMatrix(capacity, capacity);
         this.capacity = capacity;
+        this.caching = caching;
+    }
+    
+    public void setParallelism(int threshold) {
+        setParallelism(ForkJoinPool.commonPool(), threshold);
+    }
+    
+    /* rows under pivot are eliminated by executor while there are at least threshold of them; null executor disables parallel mode */
+    public void setParallelism(ExecutorService executor, int threshold) {
+        this.executor = executor;
+        this.parallelThreshold = threshold;
     }
     
     public void add(double... values) {
         for(double f : values) {
             matrix.add(f);
         }
+        factors = null;
     }
     
-    private void moveNonZeroRow(int offset) {
-        int i;
-        for(i = offset; i < capacity; i++) {
-            if(matrix.get(offset, i).doubleValue() != 0.0) {
-                break;
+    /* exact cells, for example parsed by MatrixParser.nextRow(Fraction[]) */
+    public void add(Fraction... values) {
+        for(Fraction f : values) {
+            matrix.add(f);
+        }
+        factors = null;
+    }
+    
+    /* rows are not moved while elimination, pivot row is chosen by swapping rows of permutation */
+    private void moveNonZeroRow(MutableFraction[][] rows, RowPermutation permutation, int offset) {
+        for(int i = offset; i < capacity; i++) {
+            if(!rows[permutation.get(i)][offset].isZero()) {
+                permutation.swap(offset, i);
+                return;
             }
         }
-        List<Fraction> rowA = matrix.getRow(i);
-        matrix.strikeOutRow(i).insertRow(offset, rowA.toArray(new Fraction[0]));
     }
     
-    public double[] solve(Number... freeNumbers) {
-        if(freeNumbers.length < capacity) {
-            throw new RuntimeException("Free column has not enough items: " + freeNumbers.length + ", " + capacity + " need");
+    private void factorize() {
+        MutableFraction[][] rows = new MutableFraction[capacity][capacity];
+        RowPermutation permutation = new RowPermutation(capacity);
+        for(int y = 0; y < capacity; y++) {
+            for(int x = 0; x < capacity; x++) {
+                rows[y][x] = new MutableFraction(matrix.get(x, y));
+            }
         }
         
-        Fraction[] fractions = new Fraction[capacity];
-        for(int i = 0; i < capacity; i++) {
-            fractions[i] = Fraction.create(freeNumbers[i]);
+        MutableFraction[][] pivots = null;
+        if(executor != null) {
+            pivots = new MutableFraction[parallelism()][capacity];
+            for(MutableFraction[] pivot : pivots) {
+                for(int x = 0; x < capacity; x++) {
+                    pivot[x] = new MutableFraction();
+                }
+            }
         }
         
-        matrix.insertColumn(capacity, fractions);
         for(int e = 0; e < capacity - 1; e++) {
-            moveNonZeroRow(e);
+            moveNonZeroRow(rows, permutation, e);
             
-            List<Fraction> row = matrix.getRow(e);
-            for(int y = e + 1; y < capacity; y++) {
-                Fraction m = matrix.get(e, y);
-                m = m.div(row.get(e));
-                
-                for(int x = e; x < capacity + 1; x++) {
-                    Fraction f = matrix.get(x, y).sub(row.get(x).mul(m));
-                    matrix.set(x, y, f);
-                }
+            if(pivots != null && capacity - e - 1 >= parallelThreshold) {
+                eliminateInParallel(rows, permutation, pivots, e);
+            } else {
+                eliminate(rows, permutation, rows[permutation.get(e)], e, e + 1, capacity);
+            }
+        }
+        
+        this.factors = new MutableFraction[capacity][];
+        for(int i = 0; i < capacity; i++) {
+            factors[i] = rows[permutation.get(i)];
+        }
+        this.permutation = permutation;
+    }
+    
+    private void eliminate(MutableFraction[][] rows, RowPermutation permutation, MutableFraction[] row, int e, int from, int to) {
+        for(int y = from; y < to; y++) {
+            MutableFraction[] current = rows[permutation.get(y)];
+            MutableFraction m = current[e];
+            m.divInPlace(row[e]);
+            if(m.isZero()) {
+                continue;
+            }
+            
+            for(int x = e + 1; x < capacity; x++) {
+                current[x].mulSubInPlace(row[x], m);
             }
         }
+    }
+    
+    private int parallelism() {
+        if(executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool)executor).getParallelism();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+    
+    /* each task works with own copy of pivot row, because operations can reduce their operands */
+    private void eliminateInParallel(MutableFraction[][] rows, RowPermutation permutation, MutableFraction[][] pivots, int e) {
+        MutableFraction[] row = rows[permutation.get(e)];
+        int count = capacity - e - 1;
+        int parts = Math.min(pivots.length, count);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(parts);
+        for(int i = 0; i < parts; i++) {
+            MutableFraction[] pivot = pivots[i];
+            int from = e + 1 + (int)((long)count * i / parts);
+            int to = e + 1 + (int)((long)count * (i + 1) / parts);
+            tasks.add(() -> {
+                for(int x = e; x < capacity; x++) {
+                    pivot[x].set(row[x]);
+                }
+                eliminate(rows, permutation, pivot, e, from, to);
+                return null;
+            });
+        }
         
-        Fraction[] unknowns = new Fraction[capacity];
-        unknowns[capacity - 1] = matrix.get(capacity, capacity - 1).div(matrix.get(capacity - 1, capacity - 1));
+        try {
+            for(Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Elimination was interrupted", ex);
+        } catch(ExecutionException ex) {
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)ex.getCause();
+            }
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+    
+    private double[] substitute(MutableFraction[] unknowns) {
+        for(int i = 0; i < capacity; i++) {
+            MutableFraction f = unknowns[i];
+            for(int j = 0; j < i; j++) {
+                f.mulSubInPlace(factors[i][j], unknowns[j]);
+            }
+        }
         for(int i = capacity - 1; i > -1; i--) {
-            Fraction f = new Fraction(0);
+            MutableFraction f = unknowns[i];
             for(int j = capacity - 1; j > i; j--) {
-                f = f.sum(unknowns[j].mul(matrix.get(j, i)));
+                f.mulSubInPlace(unknowns[j], factors[i][j]);
             }
-            unknowns[i] = matrix.get(capacity, i).sub(f).div(matrix.get(i, i));
+            f.divInPlace(factors[i][i]);
         }
         
         double[] result = new double[capacity];
         for(int i = 0; i < unknowns.length; i++) {
-            result[i] = unknowns[i].doubleValue();
+            result[i] = unknowns[i].reduce().doubleValue();
         }
         return result;
     }
+    
+    private MutableFraction[] createUnknowns() {
+        MutableFraction[] unknowns = new MutableFraction[capacity];
+        for(int i = 0; i < capacity; i++) {
+            unknowns[i] = new MutableFraction();
+        }
+        return unknowns;
+    }
+    
+    private void release() {
+        if(!caching) {
+            factors = null;
+            permutation = null;
+        }
+    }
+    
+    public double[] solve(Number... freeNumbers) {
+        if(freeNumbers.length < capacity) {
+            throw new RuntimeException("Free column has not enough items: " + freeNumbers.length + ", " + capacity + " need");
+        }
+        
+        if(factors == null) {
+            factorize();
+        }
+        
+        MutableFraction[] unknowns = createUnknowns();
+        for(int i = 0; i < capacity; i++) {
+            unknowns[i].set(Fraction.create(freeNumbers[permutation.get(i)]));
+        }
+        double[] result = substitute(unknowns);
+        
+        release();
+        return result;
+    }
+    
+    public double[][] solveBatch(double[][] free) {
+        for(int k = 0; k < free.length; k++) {
+            if(free[k].length < capacity) {
+                throw new RuntimeException("Free column " + k + " has not enough items: " + free[k].length + ", " + capacity + " need");
+            }
+        }
+        
+        if(factors == null) {
+            factorize();
+        }
+        
+        double[][] result = new double[free.length][];
+        MutableFraction[] unknowns = createUnknowns();
+        for(int k = 0; k < free.length; k++) {
+            for(int i = 0; i < capacity; i++) {
+                unknowns[i].set(Fraction.create(free[k][permutation.get(i)]));
+            }
+            result[k] = substitute(unknowns);
+        }
+        
+        release();
+        return result;
+    }
+    
+    public double[][] solveBatch(Matrix<? extends Number> free) {
+        if(free.getHeight() < capacity) {
+            throw new RuntimeException("Free columns have not enough items: " + free.getHeight() + ", " + capacity + " need");
+        }
+        
+        if(factors == null) {
+            factorize();
+        }
+        
+        double[][] result = new double[free.getWidth()][];
+        MutableFraction[] unknowns = createUnknowns();
+        for(int k = 0; k < result.length; k++) {
+            for(int i = 0; i < capacity; i++) {
+                unknowns[i].set(Fraction.create(free.get(k, permutation.get(i))));
+            }
+            result[k] = substitute(unknowns);
+        }
+        
+        release();
+        return result;
+    }
 }
@@ -0,0 +1,47 @@
+package org.kllbff.magic.math.algothms;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.SparseMatrix;
+
+/*
+ * Gauss-Seidel method: like Jacobi, but each row uses values of unknowns, already updated in current iteration.
+ * Converges for strictly diagonally dominant and for symmetric positive definite matrices, usually twice faster than Jacobi
+ */
+public class GaussSeidelAlgorithm extends IterativeAlgorithm {
+    private double[] diagonal;
+    
+    public GaussSeidelAlgorithm(int capacity) {
+        super(capacity);
+    }
+    
+    public GaussSeidelAlgorithm(Matrix<? extends Number> matrix) {
+        super(matrix);
+    }
+    
+    public GaussSeidelAlgorithm(DoubleMatrix matrix) {
+        super(matrix);
+    }
+    
+    public GaussSeidelAlgorithm(SparseMatrix matrix) {
+        super(matrix);
+    }
+    
+    @Override
+    protected void prepare() {
+        diagonal = getDiagonal();
+    }
+    
+    /* returns exact residual of new approximation, it needs one more pass over matrix */
+    @Override
+    protected double iterate(double[] free, double[] x) {
+        for(int y = 0; y < capacity; y++) {
+            double r = free[y];
+            for(int i = matrix.getRowStart(y), end = matrix.getRowEnd(y); i < end; i++) {
+                r -= matrix.getValueAt(i) * x[matrix.getColumnAt(i)];
+            }
+            x[y] += r / diagonal[y];
+        }
+        return residualNorm(free, x);
+    }
+}
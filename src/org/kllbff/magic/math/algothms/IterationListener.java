@@ -0,0 +1,9 @@
+package org.kllbff.magic.math.algothms;
+
+/*
+ * Receives relative residual ||b - Ax|| / ||b|| after each iteration of IterativeAlgorithm.
+ * Approximation must not be changed by listener; returning false stops iterations with current approximation
+ */
+public interface IterationListener {
+    boolean onIteration(int iteration, double residual, double[] approximation);
+}
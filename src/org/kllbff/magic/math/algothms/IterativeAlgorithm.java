@@ -0,0 +1,156 @@
+package org.kllbff.magic.math.algothms;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.SparseMatrix;
+
+/*
+ * Base of iterative solvers. Matrix is kept in CSR format, work arrays are allocated once, at first solve after change
+ * of matrix, so iterations do not allocate memory. Iterations stop when relative residual is not greater than tolerance,
+ * after maximal count of iterations or when listener returns false
+ */
+public abstract class IterativeAlgorithm {
+    protected int capacity;
+    protected SparseMatrix matrix;
+    private double tolerance;
+    private int maxIterations;
+    private IterationListener listener;
+    private boolean prepared;
+    private int iterations;
+    private double residual;
+    
+    public IterativeAlgorithm(int capacity) {
+        this(new SparseMatrix(capacity, capacity));
+    }
+    
+    public IterativeAlgorithm(Matrix<? extends Number> matrix) {
+        this(SparseMatrix.create(matrix));
+    }
+    
+    public IterativeAlgorithm(DoubleMatrix matrix) {
+        this(SparseMatrix.create(matrix));
+    }
+    
+    public IterativeAlgorithm(SparseMatrix matrix) {
+        if(matrix.getWidth() != matrix.getHeight()) {
+            throw new RuntimeException("Cannot solve system with non-square matrix (" + matrix.getWidth() + "x" + matrix.getHeight() + ")");
+        }
+        this.matrix = matrix;
+        this.capacity = matrix.getWidth();
+        this.tolerance = 1e-10;
+        this.maxIterations = 1000;
+    }
+    
+    public void add(double... values) {
+        for(double f : values) {
+            matrix.add(f);
+        }
+        prepared = false;
+    }
+    
+    public double getTolerance() {
+        return tolerance;
+    }
+    
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+    
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+    
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+    
+    public void setListener(IterationListener listener) {
+        this.listener = listener;
+    }
+    
+    /* count of iterations, made by last solve */
+    public int getIterations() {
+        return iterations;
+    }
+    
+    /* relative residual of last solve */
+    public double getResidual() {
+        return residual;
+    }
+    
+    public boolean isConverged() {
+        return residual <= tolerance;
+    }
+    
+    /* checks matrix and allocates work arrays */
+    protected abstract void prepare();
+    
+    /* called once before iterations with initial approximation */
+    protected void start(double[] free, double[] x) {}
+    
+    /* improves approximation and returns norm of residual b - Ax of improved approximation */
+    protected abstract double iterate(double[] free, double[] x);
+    
+    protected double[] getDiagonal() {
+        double[] diagonal = new double[capacity];
+        for(int y = 0; y < capacity; y++) {
+            diagonal[y] = matrix.get(y, y);
+            if(diagonal[y] == 0.0) {
+                throw new RuntimeException("Matrix has zero on diagonal at row " + y);
+            }
+        }
+        return diagonal;
+    }
+    
+    protected double residualNorm(double[] free, double[] x) {
+        double sum = 0.0;
+        for(int y = 0; y < capacity; y++) {
+            double r = free[y];
+            for(int i = matrix.getRowStart(y), end = matrix.getRowEnd(y); i < end; i++) {
+                r -= matrix.getValueAt(i) * x[matrix.getColumnAt(i)];
+            }
+            sum += r * r;
+        }
+        return Math.sqrt(sum);
+    }
+    
+    public double[] solve(double... free) {
+        return solve(free, new double[capacity]);
+    }
+    
+    /* result array contains initial approximation (warm start), it is replaced by solution; it must not be free column array */
+    public double[] solve(double[] free, double[] result) {
+        if(free.length < capacity) {
+            throw new RuntimeException("Free column has not enough items: " + free.length + ", " + capacity + " need");
+        }
+        if(result.length < capacity) {
+            throw new RuntimeException("Result array has not enough items: " + result.length + ", " + capacity + " need");
+        }
+        
+        if(!prepared) {
+            prepare();
+            prepared = true;
+        }
+        
+        double norm = 0.0;
+        for(int i = 0; i < capacity; i++) {
+            norm += free[i] * free[i];
+        }
+        norm = norm == 0.0 ? 1.0 : Math.sqrt(norm);
+        
+        start(free, result);
+        iterations = 0;
+        residual = Double.POSITIVE_INFINITY;
+        while(iterations < maxIterations) {
+            residual = iterate(free, result) / norm;
+            iterations++;
+            if(listener != null && !listener.onIteration(iterations, residual, result)) {
+                break;
+            }
+            if(residual <= tolerance) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package org.kllbff.magic.math.algothms;
+
+import org.kllbff.magic.math.structs.DoubleMatrix;
+import org.kllbff.magic.math.structs.Matrix;
+import org.kllbff.magic.math.structs.SparseMatrix;
+
+/*
+ * Jacobi method: x_i = (b_i - sum of a_ij * x_j, j != i) / a_ii for all rows at once.
+ * Converges for strictly diagonally dominant matrices
+ */
+public class JacobiAlgorithm extends IterativeAlgorithm {
+    private double[] diagonal;
+    private double[] next;
+    
+    public JacobiAlgorithm(int capacity) {
+        super(capacity);
+    }
+    
+    public JacobiAlgorithm(Matrix<? extends Number> matrix) {
+        super(matrix);
+    }
+    
+    public JacobiAlgorithm(DoubleMatrix matrix) {
+        super(matrix);
+    }
+    
+    public JacobiAlgorithm(SparseMatrix matrix) {
+        super(matrix);
+    }
+    
+    @Override
+    protected void prepare() {
+        diagonal = getDiagonal();
+        next = new double[capacity];
+    }
+    
+    /* returns exact residual of new approximation, it needs one more pass over matrix */
+    @Override
+    protected double iterate(double[] free, double[] x) {
+        for(int y = 0; y < capacity; y++) {
+            double r = free[y];
+            for(int i = matrix.getRowStart(y), end = matrix.getRowEnd(y); i < end; i++) {
+                r -= matrix.getValueAt(i) * x[matrix.getColumnAt(i)];
+            }
+            next[y] = x[y] + r / diagonal[y];
+        }
+        System.arraycopy(next, 0, x, 0, capacity);
+        return residualNorm(free, x);
+    }
+}
@@ -1,27 +1,48 @@
 package org.kllbff.magic.math.algothms;
 
+import org.kllbff.magic.math.structs.LUFactorization;
 import org.kllbff.magic.math.structs.Matrix;
 
 public class KramerAlgorithm {
     private int capacity;
     private Matrix<Double> matrix;
+    private boolean caching;
+    private LUFactorization factorization;
     
     public KramerAlgorithm(int capacity) {
+        this(capacity, false);
+    }
+    
+    public KramerAlgorithm(int capacity, boolean caching) {
         if(capacity < 2) {
             throw new RuntimeException("Equations system must have at least two equations");
         }
         
         this.capacity = capacity;
         this.matrix = new Matrix<Double>(capacity, capacity);
+        this.caching = caching;
     }
     
     public void add(double... values) {
         for(double v : values) {
             matrix.add(v);
         }
+        factorization = null;
     }
     
     public double[] solve(Double... free) {
+        if(caching) {
+            if(factorization == null) {
+                factorization = new LUFactorization(matrix);
+            }
+            
+            double[] values = new double[capacity];
+            for(int i = 0; i < capacity; i++) {
+                values[i] = free[i];
+            }
+            return factorization.solve(values);
+        }
+        
         double[] values = new double[capacity];
         Number D = matrix.getDeterminant();
         for(int i = 0; i < capacity; i++) {
@@ -0,0 +1,198 @@
+package org.kllbff.magic.math.algothms;
+
+import org.kllbff.magic.math.structs.SparseMatrix;
+
+/*
+ * Solves systems with sparse symmetric positive definite matrix by Cholesky decomposition A = L * L^T.
+ * Rows are reordered by reverse Cuthill-McKee algorithm, so non-zero cells gather near diagonal, and L is stored
+ * in skyline (envelope) format: each row keeps cells from its first non-zero column to diagonal. Fill-in of Cholesky
+ * decomposition never leaves envelope, so memory and time depend on envelope size instead of n^2
+ */
+public class SparseCholeskyAlgorithm {
+    private int capacity;
+    private SparseMatrix matrix;
+    /* order[i] is row of matrix, placed at i-th position of reordered matrix; position is inverse of order */
+    private int[] order, position;
+    /* row i of L keeps columns first[i]..i at offset[i]..offset[i] + i - first[i] */
+    private int[] first, offset;
+    private double[] factor;
+    private double[] work;
+
+    public SparseCholeskyAlgorithm(int capacity) {
+        this(new SparseMatrix(capacity, capacity));
+    }
+
+    public SparseCholeskyAlgorithm(SparseMatrix matrix) {
+        if(matrix.getWidth() != matrix.getHeight()) {
+            throw new RuntimeException("Cannot decompose non-square matrix (" + matrix.getWidth() + "x" + matrix.getHeight() + ")");
+        }
+        this.matrix = matrix;
+        this.capacity = matrix.getWidth();
+    }
+
+    public void add(double... values) {
+        for(double f : values) {
+            matrix.add(f);
+        }
+        factor = null;
+    }
+
+    public SparseMatrix getMatrix() {
+        return matrix;
+    }
+
+    public int getEnvelopeSize() {
+        if(factor == null) {
+            factorize();
+        }
+        return factor.length;
+    }
+
+    private int degree(int row) {
+        return matrix.getRowEnd(row) - matrix.getRowStart(row);
+    }
+
+    /* breadth-first traversal from root, neighbours are visited in ascending order of degree; returns index after last visited node */
+    private int traverse(int root, int[] queue, int from, boolean[] visited) {
+        int head = from, tail = from;
+        queue[tail++] = root;
+        visited[root] = true;
+        while(head < tail) {
+            int node = queue[head++];
+            int begin = tail;
+            for(int i = matrix.getRowStart(node); i < matrix.getRowEnd(node); i++) {
+                int next = matrix.getColumnAt(i);
+                if(!visited[next]) {
+                    visited[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+            for(int i = begin + 1; i < tail; i++) {
+                int next = queue[i], j = i - 1;
+                while(j >= begin && degree(queue[j]) > degree(next)) {
+                    queue[j + 1] = queue[j];
+                    j--;
+                }
+                queue[j + 1] = next;
+            }
+        }
+        return tail;
+    }
+
+    private void orderRows() {
+        int n = capacity;
+        int[] queue = new int[n];
+        boolean[] visited = new boolean[n];
+        boolean[] probe = new boolean[n];
+        int count = 0;
+        while(count < n) {
+            int root = -1;
+            for(int i = 0; i < n; i++) {
+                if(!visited[i] && (root == -1 || degree(i) < degree(root))) {
+                    root = i;
+                }
+            }
+            /* last node of traversal from node with minimal degree is a good approximation of peripheral node */
+            System.arraycopy(visited, 0, probe, 0, n);
+            int end = traverse(root, queue, count, probe);
+            root = queue[end - 1];
+            count = traverse(root, queue, count, visited);
+        }
+
+        order = new int[n];
+        position = new int[n];
+        for(int i = 0; i < n; i++) {
+            order[i] = queue[n - 1 - i];
+            position[order[i]] = i;
+        }
+    }
+
+    private void factorize() {
+        if(!matrix.isSymmetric()) {
+            throw new RuntimeException("Cholesky decomposition needs symmetric matrix");
+        }
+
+        orderRows();
+        int n = capacity;
+        first = new int[n];
+        offset = new int[n + 1];
+        for(int i = 0; i < n; i++) {
+            int row = order[i];
+            first[i] = i;
+            for(int k = matrix.getRowStart(row); k < matrix.getRowEnd(row); k++) {
+                first[i] = Math.min(first[i], position[matrix.getColumnAt(k)]);
+            }
+            offset[i + 1] = offset[i] + i - first[i] + 1;
+        }
+
+        double[] l = new double[offset[n]];
+        for(int i = 0; i < n; i++) {
+            int row = order[i];
+            for(int k = matrix.getRowStart(row); k < matrix.getRowEnd(row); k++) {
+                int j = position[matrix.getColumnAt(k)];
+                if(j <= i) {
+                    l[offset[i] + j - first[i]] = matrix.getValueAt(k);
+                }
+            }
+        }
+
+        for(int i = 0; i < n; i++) {
+            int fi = first[i], oi = offset[i] - fi;
+            for(int j = fi; j <= i; j++) {
+                int fj = first[j], oj = offset[j] - fj;
+                double sum = l[oi + j];
+                for(int k = Math.max(fi, fj); k < j; k++) {
+                    sum -= l[oi + k] * l[oj + k];
+                }
+                if(j < i) {
+                    l[oi + j] = sum / l[oj + j];
+                } else if(sum <= 0.0) {
+                    throw new RuntimeException("Cholesky decomposition needs positive definite matrix");
+                } else {
+                    l[oi + i] = Math.sqrt(sum);
+                }
+            }
+        }
+
+        this.factor = l;
+        this.work = new double[n];
+    }
+
+    public double[] solve(double... free) {
+        return solve(free, new double[capacity]);
+    }
+
+    /* result array must not be free column array */
+    public double[] solve(double[] free, double[] result) {
+        if(free.length < capacity) {
+            throw new RuntimeException("Free column has not enough items: " + free.length + ", " + capacity + " need");
+        }
+
+        if(factor == null) {
+            factorize();
+        }
+
+        int n = capacity;
+        double[] y = work;
+        for(int i = 0; i < n; i++) {
+            int oi = offset[i] - first[i];
+            double value = free[order[i]];
+            for(int k = first[i]; k < i; k++) {
+                value -= factor[oi + k] * y[k];
+            }
+            y[i] = value / factor[oi + i];
+        }
+        for(int i = n - 1; i > -1; i--) {
+            int oi = offset[i] - first[i];
+            double value = y[i] / factor[oi + i];
+            y[i] = value;
+            for(int k = first[i]; k < i; k++) {
+                y[k] -= factor[oi + k] * value;
+            }
+        }
+        for(int i = 0; i < n; i++) {
+            result[order[i]] = y[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Specifies algorithm, used for calculating matrix's determinant</h3>
+ * <p>Matrices ({@link Matrix}, {@link FractionsMatrix} and {@link DoubleMatrix}) accept one of these values at <code>getDeterminant(DeterminantMethod)</code>:
+ *     <dl>
+ *          <dt>{@link #AUTO}</dt>
+ *          <dd>Uses diagonals rule for 2x2 matrix, triangles rule for 3x3 matrix and {@link #LU} for all bigger matrices</dd>
+ *          <dt>{@link #MINORS}</dt>
+ *          <dd>Expands determinant by minors of first row. It needs <i>O(n!)</i> operations, so use it only for very small matrices</dd>
+ *          <dt>{@link #LU}</dt>
+ *          <dd>Reduces matrix to triangular form by Gauss elimination and multiplies its diagonal. It needs <i>O(n<sup>3</sup>)</i> operations.
+ *              Double matrices use LU decomposition with partial pivoting, {@link FractionsMatrix} uses
+ *              <a href="https://en.wikipedia.org/wiki/Bareiss_algorithm">Bareiss</a> fraction-free elimination</dd>
+ *     </dl>
+ * </p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public enum DeterminantMethod {
+    AUTO, MINORS, LU
+}
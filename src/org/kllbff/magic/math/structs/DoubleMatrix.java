@@ -0,0 +1,903 @@
+package org.kllbff.magic.math.structs;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <h3>Represents primitive double values matrix</h3>
+ * <p>This implementation stores all cells in one flat array of <code>double</code> values, placed row by row. Each row occupies <i>stride</i> cells of
+ *    array, where stride is not less than matrix's width, so columns can be added or removed without reallocating the whole storage</p>
+ * <p>Unlike {@link Matrix} this matrix does not box values into {@link Number} objects, so it is much faster and does not produce garbage on every access.
+ *    Use {@link #create(Matrix)} and {@link #toMatrix()} to convert values between these two implementations</p>
+ * <p>Rows are read without allocation by {@link #copyRowInto(int, double[])}, {@link #rowBuffer(int)} and {@link #rows()}: last two methods
+ *    give storage of matrix itself</p>
+ * <p>DoubleMatrix has the same basic methods as {@link Matrix}:
+ *     <ul>
+ *          <li>getters {@link #get(int, int)} and setters {@link #set(int, int, double)} for each cell</li>
+ *          <li>{@link #getMinorFor(int, int)} - for calculating addition minor for specified cell</li>
+ *          <li>{@link #getDeterminant()} - for calculating matrix's determinant</li>
+ *          <li>getters for width and height</li>
+ *     </ul>
+ *     and some specific methods that facilitate the work with matrix:
+ *     <ul>
+ *          <li>{@link #strikeOutColumn(int)}</li>
+ *          <li>{@link #strikeOutRow(int)}</li>
+ *          <li>{@link #addColumns(int)}</li>
+ *          <li>{@link #addRows(int)}</li>
+ *          <li>{@link #insertColumn(int, double...)}</li>
+ *          <li>{@link #insertRow(int, double...)}</li>
+ *          <li>{@link #swapRows(int, int)} and {@link #swapColumns(int, int)}</li>
+ *     </ul>
+ *     and arithmetic operations: {@link #multiply(DoubleMatrix)}, {@link #add(DoubleMatrix)}, {@link #subtract(DoubleMatrix)}, {@link #scale(double)},
+ *     {@link #transpose()}, {@link #inverse()} and {@link #adjugate()}</p>
+ * <p>Multiplication uses cache-blocked kernel: matrices are processed by square tiles of {@value #BLOCK_SIZE} cells, so each tile is reused
+ *    while it is in processor's cache. If multiplication needs more than {@link #getParallelThreshold()} operations, rows of result are split between
+ *    threads of common {@link ForkJoinPool}</p>
+ * <p>Matrix is saved to channel in compact binary format by {@link #writeTo(WritableByteChannel)} and loaded by {@link #readFrom(ReadableByteChannel)}</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class DoubleMatrix {
+    public static final int BLOCK_SIZE = 64;
+    private static volatile long parallelThreshold = 1L << 21;
+    
+    protected double[] data;
+    protected int width, height, stride;
+    protected int x, y;
+
+    /**
+     * Returns a new instance of DoubleMatrix, containing all values from given matrix
+     * <p>Empty cells of given matrix are represented by zero</p>
+     *
+     * @param matrix source matrix
+     * @return a new instance of DoubleMatrix, containing all values from given matrix
+     */
+    public static DoubleMatrix create(Matrix<? extends Number> matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        DoubleMatrix result = new DoubleMatrix(width, height);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                Number value = matrix.get(x, y);
+                if(value != null) {
+                    result.data[y * width + x] = value.doubleValue();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns minimal number of multiply-add operations (<i>height &#215; width &#215; other width</i>), for which {@link #multiply(DoubleMatrix)}
+     * splits work between threads
+     *
+     * @return minimal number of operations for parallel multiplication
+     */
+    public static long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets minimal number of multiply-add operations, for which {@link #multiply(DoubleMatrix)} splits work between threads
+     * <p>Use {@link Long#MAX_VALUE} to disable parallel multiplication</p>
+     *
+     * @param threshold minimal number of operations for parallel multiplication
+     */
+    public static void setParallelThreshold(long threshold) {
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Initializes matrix with specified width and height
+     *
+     * @param width width of matrix
+     * @param height height of matrix
+     * @throws RuntimeException if width or height less than 1
+     */
+    public DoubleMatrix(int width, int height) {
+        if(width < 1) {
+            throw new RuntimeException("Matrix's width cann't be less than 1 (given " + width + ")");
+        }
+        if(height < 1) {
+            throw new RuntimeException("Matrix's height cann't be less than 1 (given " + height + ")");
+        }
+
+        data = new double[width * height];
+
+        this.width = width;
+        this.height = height;
+        this.stride = width;
+        this.x = 0;
+        this.y = 0;
+    }
+
+    /**
+     * Returns current matrix's width
+     *
+     * @return current matrix's width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns current matrix's height
+     *
+     * @return current matrix's height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns one row from matrix as a new array
+     *
+     * @param y index of row
+     * @return one row from matrix
+     */
+    public double[] getRow(int y) {
+        return Arrays.copyOfRange(data, y * stride, y * stride + width);
+    }
+
+    /**
+     * Returns one column from matrix as a new array
+     *
+     * @param x index of column
+     * @return one column from matrix
+     */
+    public double[] getColumn(int x) {
+        double[] column = new double[height];
+        for(int y = 0; y < height; y++) {
+            column[y] = data[y * stride + x];
+        }
+        return column;
+    }
+
+    /**
+     * Copies values of one row into given array without allocation of memory
+     *
+     * @param y index of row
+     * @param row array for values, at least {@link #getWidth()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyRowInto(int y, double[] row) {
+        if(row.length < width) {
+            throw new RuntimeException("Array has not enough items for row: " + row.length + ", " + width + " need");
+        }
+        System.arraycopy(data, y * stride, row, 0, width);
+        return row;
+    }
+
+    /**
+     * Copies values of one column into given array without allocation of memory
+     *
+     * @param x index of column
+     * @param column array for values, at least {@link #getHeight()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyColumnInto(int x, double[] column) {
+        if(column.length < height) {
+            throw new RuntimeException("Array has not enough items for column: " + column.length + ", " + height + " need");
+        }
+        for(int y = 0, i = x; y < height; y++, i += stride) {
+            column[y] = data[i];
+        }
+        return column;
+    }
+
+    /**
+     * Returns view of one row as buffer of <code>double</code> values
+     * <p>Buffer wraps storage of this matrix: values are not copied, and changes of buffer are changes of row. Storage is reallocated
+     *    when rows or columns are added, after that buffer is not connected with matrix</p>
+     *
+     * @param y index of row
+     * @return a new buffer with {@link #getWidth()} values of row
+     */
+    public DoubleBuffer rowBuffer(int y) {
+        if(y < 0 || y >= height) {
+            throw new RuntimeException("Row " + y + " is out of matrix with " + height + " rows");
+        }
+        return DoubleBuffer.wrap(data, y * stride, width).slice();
+    }
+
+    /**
+     * Returns cursor over rows of this matrix, which gives storage of matrix itself: rows are walked without copying
+     *
+     * @return a new cursor before the first row
+     * @see RowCursor
+     */
+    public RowCursor rows() {
+        return new RowCursor(null, width, height) {
+            @Override
+            protected void load(int y) {
+                values = data;
+                offset = y * stride;
+            }
+        };
+    }
+
+    /**
+     * Returns value stored in cell at x column and y row
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @return value stored in specified cell
+     */
+    public double get(int x, int y) {
+        return data[y * stride + x];
+    }
+
+    /**
+     * Sets a new value to specified cell
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @param val new value
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix set(int x, int y, double val) {
+        data[y * stride + x] = val;
+        return this;
+    }
+
+    /**
+     * Adds value to next cell. Cell specifies by internal field x and y, incremtable at each call this method
+     * <p>
+     * After saving value, x-pointer increases by 1. If value of x-pointer bigger than width, y-poiter increases by 1
+     * and x-pointer sets to zero.
+     * </p>
+     *
+     * @param val value for cell
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix add(double val) {
+        data[y * stride + x++] = val;
+        if(x == width) {
+            x = 0;
+            y++;
+        }
+        return this;
+    }
+
+    /**
+     * Insert specified value to row at specified position
+     * <p>This method does not rewrite values in specified row. It shifts all next rows by 1 and sets free row by given values</p>
+     *
+     * @param y target row index
+     * @param row values for new row
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix insertRow(int y, double... row) {
+        addRows(1);
+
+        System.arraycopy(data, y * stride, data, (y + 1) * stride, (height - y - 1) * stride);
+        System.arraycopy(row, 0, data, y * stride, width);
+        return this;
+    }
+
+    /**
+     * Insert specified value to column at specified position
+     * <p>This method does not rewrite values in specified column. It shifts all next columns by 1 and sets free column by given values</p>
+     *
+     * @param x target column index
+     * @param column values for new column
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix insertColumn(int x, double... column) {
+        addColumns(1);
+
+        for(int y = 0; y < height; y++) {
+            int offset = y * stride;
+            System.arraycopy(data, offset + x, data, offset + x + 1, width - x - 1);
+            data[offset + x] = column[y];
+        }
+        return this;
+    }
+
+    /**
+     * Extends the matrix width by the specified number of columns
+     * <p>Storage is reallocated only if current stride has no place for new columns</p>
+     *
+     * @param count count of new columns
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix addColumns(int count) {
+        int newWidth = width + count;
+        if(newWidth > stride) {
+            int rows = data.length / stride;
+            double[] newData = new double[rows * newWidth];
+            for(int y = 0; y < height; y++) {
+                System.arraycopy(data, y * stride, newData, y * newWidth, width);
+            }
+            data = newData;
+            stride = newWidth;
+        } else {
+            for(int y = 0; y < height; y++) {
+                Arrays.fill(data, y * stride + width, y * stride + newWidth, 0.0);
+            }
+        }
+        width = newWidth;
+        return this;
+    }
+
+    /**
+     * Extends the matrix height by the specified number of row
+     * <p>Storage is reallocated only if it has no place for new rows</p>
+     *
+     * @param count count of new rows
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix addRows(int count) {
+        int newHeight = height + count;
+        if(newHeight * stride > data.length) {
+            data = Arrays.copyOf(data, newHeight * stride);
+        } else {
+            Arrays.fill(data, height * stride, newHeight * stride, 0.0);
+        }
+        height = newHeight;
+        return this;
+    }
+
+    /**
+     * Returns determinant of this matrix or throw Exception if matrix does not square
+     * <p>Algorithm is chosen by size of matrix, see {@link DeterminantMethod#AUTO}</p>
+     * <p>See {@link Matrix#getDeterminant()} for more details</p>
+     *
+     * @return determinant of this matrix
+     */
+    public double getDeterminant() {
+        return getDeterminant(DeterminantMethod.AUTO);
+    }
+
+    /**
+     * Returns determinant of this matrix, calculated by specified algorithm, or throw Exception if matrix does not square
+     * <p>See {@link Matrix#getDeterminant(DeterminantMethod)} for more details</p>
+     *
+     * @param method algorithm of calculation
+     * @return determinant of this matrix
+     */
+    public double getDeterminant(DeterminantMethod method) {
+        if(width != height) {
+            throw new RuntimeException("Cannot calculate determinant of non-square matrix (" + width + "x" + height + ")");
+        }
+
+        if(method == DeterminantMethod.LU || (method == DeterminantMethod.AUTO && width > 3)) {
+            return new LUFactorization(this).getDeterminant();
+        }
+
+        if(width == 1) {
+            return data[0];
+        }
+
+        double a00 = data[0], a10 = data[1];
+        double a01 = data[stride], a11 = data[stride + 1];
+        if(width == 2) {
+            return a00 * a11 - a01 * a10;
+        }
+
+        if(width == 3) {
+            double a20 = data[2], a21 = data[stride + 2];
+            double a02 = data[2 * stride], a12 = data[2 * stride + 1], a22 = data[2 * stride + 2];
+            return a00 * a11 * a22 +
+                   a02 * a10 * a21 +
+                   a01 * a12 * a20 -
+                   a02 * a11 * a20 -
+                   a00 * a21 * a12 -
+                   a10 * a01 * a22;
+        }
+
+        double determ = 0.0, k;
+        for(int i = 0; i < width; i++) {
+            if(i % 2 == 0) {
+                k = 1;
+            } else {
+                k = -1;
+            }
+            determ += k * data[i] * getMinorFor(i, 0, method);
+        }
+
+        return determ;
+    }
+
+    /**
+     * Returns a new instance of DoubleMatrix, containing all values from this matrix
+     *
+     * @return a new instance of DoubleMatrix, containing all values from this matrix
+     */
+    public DoubleMatrix copy() {
+        DoubleMatrix copy = new DoubleMatrix(width, height);
+        for(int y = 0; y < height; y++) {
+            System.arraycopy(data, y * stride, copy.data, y * width, width);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns product of this matrix and specified matrix
+     * <p>Width of this matrix must be equal to height of other matrix. Result has height of this matrix and width of other matrix</p>
+     *
+     * @param other right multiplier
+     * @return a new instance of DoubleMatrix, containing product of matrices
+     * @throws RuntimeException if width of this matrix does not equal to height of other matrix
+     */
+    public DoubleMatrix multiply(DoubleMatrix other) {
+        if(width != other.height) {
+            throw new RuntimeException("Cannot multiply matrix " + width + "x" + height + " by matrix " + other.width + "x" + other.height);
+        }
+
+        DoubleMatrix result = new DoubleMatrix(other.width, height);
+        long operations = (long)height * width * other.width;
+        if(operations >= parallelThreshold && height > BLOCK_SIZE) {
+            ForkJoinPool.commonPool().invoke(new MultiplyTask(this, other, result, 0, height));
+        } else {
+            multiplyRows(this, other, result, 0, height);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates rows of product from <code>from</code> (inclusive) to <code>to</code> (exclusive) tile by tile
+     */
+    private static void multiplyRows(DoubleMatrix a, DoubleMatrix b, DoubleMatrix c, int from, int to) {
+        double[] ad = a.data, bd = b.data, cd = c.data;
+        int as = a.stride, bs = b.stride, cs = c.stride;
+        int n = a.width, m = b.width;
+
+        for(int ii = from; ii < to; ii += BLOCK_SIZE) {
+            int iEnd = Math.min(ii + BLOCK_SIZE, to);
+            for(int kk = 0; kk < n; kk += BLOCK_SIZE) {
+                int kEnd = Math.min(kk + BLOCK_SIZE, n);
+                for(int jj = 0; jj < m; jj += BLOCK_SIZE) {
+                    int jEnd = Math.min(jj + BLOCK_SIZE, m);
+                    for(int i = ii; i < iEnd; i++) {
+                        int ci = i * cs;
+                        int ai = i * as;
+                        for(int k = kk; k < kEnd; k++) {
+                            double aik = ad[ai + k];
+                            int bk = k * bs;
+                            for(int j = jj; j < jEnd; j++) {
+                                cd[ci + j] += aik * bd[bk + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits rows of product in halves, aligned to tiles, until part has not more than one tile of rows
+     */
+    private static class MultiplyTask extends RecursiveAction {
+        private static final long serialVersionUID = 5318217464328470541L;
+        private final DoubleMatrix a, b, c;
+        private final int from, to;
+
+        MultiplyTask(DoubleMatrix a, DoubleMatrix b, DoubleMatrix c, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int blocks = (to - from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            if(blocks < 2) {
+                multiplyRows(a, b, c, from, to);
+                return;
+            }
+            int middle = from + (blocks / 2) * BLOCK_SIZE;
+            invokeAll(new MultiplyTask(a, b, c, from, middle), new MultiplyTask(a, b, c, middle, to));
+        }
+    }
+
+    /**
+     * Returns sum of this matrix and specified matrix
+     *
+     * @param other matrix with the same width and height
+     * @return a new instance of DoubleMatrix, containing sum of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public DoubleMatrix add(DoubleMatrix other) {
+        return combine(other, 1.0);
+    }
+
+    /**
+     * Returns difference of this matrix and specified matrix
+     *
+     * @param other matrix with the same width and height
+     * @return a new instance of DoubleMatrix, containing difference of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public DoubleMatrix subtract(DoubleMatrix other) {
+        return combine(other, -1.0);
+    }
+
+    private DoubleMatrix combine(DoubleMatrix other, double k) {
+        if(width != other.width || height != other.height) {
+            throw new RuntimeException("Matrices have different sizes: " + width + "x" + height + " and " + other.width + "x" + other.height);
+        }
+
+        DoubleMatrix result = new DoubleMatrix(width, height);
+        double[] rd = result.data;
+        for(int y = 0; y < height; y++) {
+            int a = y * stride, b = y * other.stride, r = y * width;
+            for(int x = 0; x < width; x++) {
+                rd[r + x] = data[a + x] + k * other.data[b + x];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns this matrix, multiplied by specified number
+     *
+     * @param k multiplier
+     * @return a new instance of DoubleMatrix, containing each cell of this matrix, multiplied by <code>k</code>
+     */
+    public DoubleMatrix scale(double k) {
+        DoubleMatrix result = new DoubleMatrix(width, height);
+        double[] rd = result.data;
+        for(int y = 0; y < height; y++) {
+            int a = y * stride, r = y * width;
+            for(int x = 0; x < width; x++) {
+                rd[r + x] = data[a + x] * k;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns transposed matrix: rows of this matrix become columns of result
+     * <p>Cells are copied tile by tile, so both matrices are read and written by short sequential parts</p>
+     *
+     * @return a new instance of DoubleMatrix, containing transposed matrix
+     */
+    public DoubleMatrix transpose() {
+        DoubleMatrix result = new DoubleMatrix(height, width);
+        double[] rd = result.data;
+        int rs = result.stride;
+        for(int yy = 0; yy < height; yy += BLOCK_SIZE) {
+            int yEnd = Math.min(yy + BLOCK_SIZE, height);
+            for(int xx = 0; xx < width; xx += BLOCK_SIZE) {
+                int xEnd = Math.min(xx + BLOCK_SIZE, width);
+                for(int y = yy; y < yEnd; y++) {
+                    int offset = y * stride;
+                    for(int x = xx; x < xEnd; x++) {
+                        rd[x * rs + y] = data[offset + x];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Swaps two rows of this matrix
+     * <p>Rows are stored sequentially, so they are swapped by <i>width</i> cells. Elimination algorithms, such as {@link LUFactorization}, do not move rows
+     *    and use {@link RowPermutation} instead</p>
+     *
+     * @param a index of first row
+     * @param b index of second row
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix swapRows(int a, int b) {
+        if(a != b) {
+            int ra = a * stride, rb = b * stride;
+            for(int x = 0; x < width; x++) {
+                double t = data[ra + x];
+                data[ra + x] = data[rb + x];
+                data[rb + x] = t;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Swaps two columns of this matrix
+     *
+     * @param a index of first column
+     * @param b index of second column
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix swapColumns(int a, int b) {
+        if(a != b) {
+            for(int offset = 0; offset < height * stride; offset += stride) {
+                double t = data[offset + a];
+                data[offset + a] = data[offset + b];
+                data[offset + b] = t;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns a new instance of Matrix, containing all values from this matrix as boxed {@link Double} values
+     *
+     * @return a new instance of Matrix, containing all values from this matrix
+     */
+    public Matrix<Double> toMatrix() {
+        Matrix<Double> matrix = new Matrix<Double>(width, height);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                matrix.set(x, y, data[y * stride + x]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes this matrix to channel in binary format, see {@link Matrix#writeTo(WritableByteChannel)}
+     * <p>Cells are written as little-endian <code>double</code> values through one direct buffer, so writing does not create objects for each cell</p>
+     *
+     * @param channel destination channel, it is not closed
+     * @throws IOException if channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        long nonZero = 0;
+        for(int y = 0; y < height; y++) {
+            for(int offset = y * stride, end = offset + width; offset < end; offset++) {
+                if(data[offset] != 0.0) {
+                    nonZero++;
+                }
+            }
+        }
+
+        MatrixFormat format = MatrixFormat.writer(channel, MatrixFormat.DOUBLE, width, height, nonZero);
+        for(int y = 0; y < height; y++) {
+            int offset = y * stride;
+            for(int x = 0; x < width; x++) {
+                double value = data[offset + x];
+                if(!format.isSparse()) {
+                    format.putDouble(value);
+                } else if(value != 0.0) {
+                    format.putEntry(x, y);
+                    format.putDouble(value);
+                }
+            }
+        }
+        format.finish();
+    }
+
+    /**
+     * Reads matrix, written by {@link #writeTo(WritableByteChannel)} or {@link Matrix#writeTo(WritableByteChannel)}, from channel
+     * <p>Fractions, written by {@link FractionsMatrix}, are converted to <code>double</code> values.
+     *    Only bytes of one matrix are read, so channel can contain several matrices one by one</p>
+     *
+     * @param channel blocking source channel, it is not closed
+     * @return a new instance of DoubleMatrix
+     * @throws IOException if channel cannot be read
+     * @throws RuntimeException if channel does not contain matrix or its data is damaged
+     */
+    public static DoubleMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        MatrixFormat format = MatrixFormat.reader(channel);
+        DoubleMatrix matrix = new DoubleMatrix(format.getWidth(), format.getHeight());
+        if(format.isSparse()) {
+            for(long i = 0; i < format.getCount(); i++) {
+                format.nextEntry();
+                matrix.data[format.getY() * matrix.stride + format.getX()] = format.getDouble();
+            }
+        } else {
+            for(int offset = 0; offset < matrix.data.length; offset++) {
+                matrix.data[offset] = format.getDouble();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Shifts all columns after specified index to left on one column
+     * <p>Native storage does not cut, but width field will be decreased by 1</p>
+     *
+     * @param column index of deleting column
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix strikeOutColumn(int column) {
+        for(int y = 0; y < height; y++) {
+            int offset = y * stride;
+            System.arraycopy(data, offset + column + 1, data, offset + column, width - column - 1);
+        }
+        width--;
+        return this;
+    }
+
+    /**
+     * Shifts all rows after specified index to top on one row
+     * <p>Native storage does not cut, but height field will be decreased by 1</p>
+     *
+     * @param row index of deleting row
+     * @return pointer to this DoubleMatrix
+     */
+    public DoubleMatrix strikeOutRow(int row) {
+        System.arraycopy(data, (row + 1) * stride, data, row * stride, (height - row - 1) * stride);
+        height--;
+        return this;
+    }
+
+    /**
+     * Returns addition minor for specified cell
+     * <p>Minor is a determinant of matrix without column and row of specified cell. Reduced matrix is filled directly, without copying
+     *    this matrix and striking out of column and row</p>
+     *
+     * @param x column of specified cell
+     * @param y row of specified cell
+     * @return determinant of matrix without column and row of specified cell
+     */
+    public double getMinorFor(int x, int y) {
+        return getMinorFor(x, y, DeterminantMethod.AUTO);
+    }
+
+    /**
+     * Returns addition minor for specified cell, calculated by specified algorithm
+     *
+     * @param x column of specified cell
+     * @param y row of specified cell
+     * @param method algorithm of calculation of minor's determinant
+     * @return determinant of matrix without column and row of specified cell
+     */
+    public double getMinorFor(int x, int y, DeterminantMethod method) {
+        DoubleMatrix mtx = new DoubleMatrix(width - 1, height - 1);
+        int target = 0;
+        for(int row = 0; row < height; row++) {
+            if(row == y) {
+                continue;
+            }
+            int offset = row * stride;
+            System.arraycopy(data, offset, mtx.data, target, x);
+            System.arraycopy(data, offset + x + 1, mtx.data, target + x, width - x - 1);
+            target += width - 1;
+        }
+        return mtx.getDeterminant(method);
+    }
+
+    /**
+     * Returns inverse of this matrix: <code>A<sup>-1</sup></code>, such that <code>A &#215; A<sup>-1</sup> = I</code>
+     * <p>Matrix is decomposed once by {@link LUFactorization}, and each column of inverse is solved with one column of identity matrix,
+     *    so inversion needs <i>O(n<sup>3</sup>)</i> operations</p>
+     *
+     * @return a new instance of DoubleMatrix, containing inverse matrix
+     * @throws RuntimeException if matrix does not square or is singular
+     */
+    public DoubleMatrix inverse() {
+        return inverse(new DoubleMatrix(width, height));
+    }
+
+    /**
+     * Calculates inverse of this matrix into given matrix, see {@link #inverse()}
+     *
+     * @param result matrix with the same size as this one for inverse matrix; it can be this matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or is singular, or result matrix has other size
+     */
+    public DoubleMatrix inverse(DoubleMatrix result) {
+        LUFactorization lu = factorizeInto(result);
+        if(lu.isSingular()) {
+            throw new RuntimeException("Cannot invert singular matrix");
+        }
+        invert(lu, 1.0, result);
+        return result;
+    }
+
+    /**
+     * Returns adjugate of this matrix: transposed matrix of cofactors, <code>adj(A) = det(A) &#215; A<sup>-1</sup></code>
+     * <p>Adjugate of non-singular matrix is calculated from one {@link LUFactorization} in <i>O(n<sup>3</sup>)</i> operations.
+     *    Adjugate of singular matrix is calculated by minors of all cells, which needs <i>O(n<sup>5</sup>)</i> operations</p>
+     *
+     * @return a new instance of DoubleMatrix, containing adjugate matrix
+     * @throws RuntimeException if matrix does not square
+     */
+    public DoubleMatrix adjugate() {
+        return adjugate(new DoubleMatrix(width, height));
+    }
+
+    /**
+     * Calculates adjugate of this matrix into given matrix, see {@link #adjugate()}
+     *
+     * @param result matrix with the same size as this one for adjugate matrix; it can be this matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or result matrix has other size
+     */
+    public DoubleMatrix adjugate(DoubleMatrix result) {
+        LUFactorization lu = factorizeInto(result);
+        if(!lu.isSingular()) {
+            invert(lu, lu.getDeterminant(), result);
+            return result;
+        }
+
+        int n = width;
+        if(n == 1) {
+            result.data[0] = 1.0;
+            return result;
+        }
+        double[] cofactors = new double[n * n];
+        for(int y = 0; y < n; y++) {
+            for(int x = 0; x < n; x++) {
+                double minor = getMinorFor(y, x, DeterminantMethod.LU);
+                cofactors[y * n + x] = (x + y) % 2 == 0 ? minor : -minor;
+            }
+        }
+        for(int y = 0; y < n; y++) {
+            System.arraycopy(cofactors, y * n, result.data, y * result.stride, n);
+        }
+        return result;
+    }
+
+    private LUFactorization factorizeInto(DoubleMatrix result) {
+        if(width != height) {
+            throw new RuntimeException("Cannot invert non-square matrix (" + width + "x" + height + ")");
+        }
+        if(result.width != width || result.height != height) {
+            throw new RuntimeException("Result matrix must be " + width + "x" + height + ", but it is " + result.width + "x" + result.height);
+        }
+        return new LUFactorization(this);
+    }
+
+    /* writes k * A^-1 into result, column by column */
+    private static void invert(LUFactorization lu, double k, DoubleMatrix result) {
+        int n = lu.getSize();
+        double[] unit = new double[n];
+        double[] column = new double[n];
+        for(int x = 0; x < n; x++) {
+            unit[x] = k;
+            lu.solve(unit, column);
+            unit[x] = 0.0;
+            for(int y = 0; y < n; y++) {
+                result.data[y * result.stride + x] = column[y];
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 256 + 31 * width + height;
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                long bits = Double.doubleToLongBits(data[y * stride + x]);
+                result = 31 * result + (int)(bits ^ (bits >>> 32));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        DoubleMatrix other = (DoubleMatrix) obj;
+        if(width != other.width || height != other.height) {
+            return false;
+        }
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                if(Double.doubleToLongBits(data[y * stride + x]) != Double.doubleToLongBits(other.data[y * other.stride + x])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for(int y = 0; y < height; y++) {
+            int offset = y * stride;
+            for(int x = 0; x < width - 1; x++) {
+                builder.append(data[offset + x]).append(" ");
+            }
+            builder.append(data[offset + width - 1]).append("\n");
+        }
+        return builder.toString();
+    }
+}
@@ -1,10 +1,19 @@
 package org.kllbff.magic.math.structs;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
 import org.kllbff.magic.math.VarargsMath;
 
 /**
  * <h3>Represents an ordinary fraction by two whole values: numerator and denominator</h3>
  * <p>The numerator and denominator are represented by two 64-bit integer values (<code>long</code>).</p>
+ * <p>Arithmetic methods detect overflow of <code>long</code> values. If result of operation cannot be represented by two <code>long</code> values, 
+ *    it is promoted to representation by two {@link BigInteger} values, so result is always exact. Results, which fit into <code>long</code> values again,
+ *    are returned to fast representation. Use {@link #isBig()} to check current representation and {@link #getBigNumerator()}, {@link #getBigDenominator()}
+ *    to get numerator and denominator of any fraction</p>
  * <p>This class extends {@link java.lang.Number Number} class, therefore it implements some methods for numbers:
  *     <ul>
  *          <li>{@link #intValue()} returns a whole part of fraction - result of integer division numerator on denominator;</li>
@@ -18,11 +27,15 @@ import org.kllbff.magic.math.VarargsMath;
  *          <li>{@link #sub(Fraction)} returns the result of subtracting the specified fraction from this fraction as new instance of Fraction;</li>
  *          <li>{@link #mul(Fraction)} returns a new instance of Fraction, respresenting the result of the multiplication of two fractions - this and specified;</li>
  *          <li>{@link #div(Fraction)} returns the result of division the this fraction on the specfied fraction as new instance of Fraction;</li>
- *          <li>getters ({@link #getNumerator()}, {@link #getDenominator()}) and setters ({@link #setNumerator(long)}, {@link #setDenominator(long)}) for numerator and denominator;</li>
+ *          <li>getters ({@link #getNumerator()}, {@link #getDenominator()}) and deprecated setters ({@link #setNumerator(long)}, {@link #setDenominator(long)}) for numerator and denominator;</li>
  *          <li>{@link #reduce()} reduces this fraction;</li>
  *          <li>{@link #reverse()} returns an inverted fraction, created by change of numerator and denominator in places.</li>
  *     </ul>
- * 
+ * <p>Small fractions are shared, as small {@link Integer} values: {@link #valueOf(long, long)}, {@link #create(Number)} and arithmetic methods
+ *    return cached instances instead of allocating and reducing new ones. Constants {@link #ZERO}, {@link #ONE} and {@link #MINUS_ONE} are
+ *    shared instances too</p>
+ * <p><code>double</code> values are converted by {@link #valueOf(double)} exactly, by bits of value, or by {@link #approximate(double, long)} to
+ *    the closest fraction with bounded denominator</p>
  * 
  * @author Kirill Bogatikov
  * @version 1.0
@@ -30,29 +43,232 @@ import org.kllbff.magic.math.VarargsMath;
  */
 public class Fraction extends Number {
     public static final long NUMBER_DEFAULT_DENOMINATOR = 100_000_000;
+    /** Cached fractions have numerators from <code>-CACHE_NUMERATOR</code> to <code>CACHE_NUMERATOR - 1</code> */
+    public static final int CACHE_NUMERATOR = 128;
+    /** Cached fractions have denominators from 1 to <code>CACHE_DENOMINATOR</code> */
+    public static final int CACHE_DENOMINATOR = 8;
     private static final long serialVersionUID = -1702449358862740938L;
+    /* cache[d - 1][n + CACHE_NUMERATOR] is reduced fraction n/d; equal fractions share one instance */
+    private static final Fraction[][] cache = new Fraction[CACHE_DENOMINATOR][2 * CACHE_NUMERATOR];
+    static {
+        for(int d = 1; d <= CACHE_DENOMINATOR; d++) {
+            for(int n = -CACHE_NUMERATOR; n < CACHE_NUMERATOR; n++) {
+                long gcd = n == 0 ? d : VarargsMath.gcd(n, d);
+                Fraction f = gcd == 1 ? new Fraction(n, d) : cache[(int)(d / gcd) - 1][(int)(n / gcd) + CACHE_NUMERATOR];
+                f.interned = true;
+                cache[d - 1][n + CACHE_NUMERATOR] = f;
+            }
+        }
+    }
+    /** Shared fraction <code>0/1</code> */
+    public static final Fraction ZERO = valueOf(0, 1);
+    /** Shared fraction <code>1/1</code> */
+    public static final Fraction ONE = valueOf(1, 1);
+    /** Shared fraction <code>-1/1</code> */
+    public static final Fraction MINUS_ONE = valueOf(-1, 1);
     private long n, d;
+    private BigInteger bn, bd;
+    /* instance is shared by cache and cannot be changed; deserialized copy is not shared */
+    private transient boolean interned;
+    
+    /**
+     * Returns reduced fraction with given numerator and denominator
+     * <p>As {@link Integer#valueOf(int)}, this method returns shared instance for small values: if numerator is not less than
+     *    <code>-{@value #CACHE_NUMERATOR}</code> and less than <code>{@value #CACHE_NUMERATOR}</code>, and absolute value of denominator is not
+     *    greater than <code>{@value #CACHE_DENOMINATOR}</code>, fraction is taken from cache without allocation and reduction. Otherwise a new
+     *    instance is created by {@link #Fraction(long, long)}</p>
+     * <p>Fraction is a value, so it must be compared by {@link #equals(Object)}, not by reference. Shared instances cannot be changed by
+     *    {@link #setNumerator(long)} and {@link #setDenominator(long)}</p>
+     * 
+     * @param n numerator value
+     * @param d denominator value
+     * @return fraction <code>n/d</code>
+     * @throws ArithmeticException if denominator equals zero
+     */
+    public static Fraction valueOf(long n, long d) {
+        if(d < 0 && d >= -CACHE_DENOMINATOR && n > -CACHE_NUMERATOR && n <= CACHE_NUMERATOR) {
+            n = -n;
+            d = -d;
+        }
+        if(d > 0 && d <= CACHE_DENOMINATOR && n >= -CACHE_NUMERATOR && n < CACHE_NUMERATOR) {
+            return cache[(int)d - 1][(int)n + CACHE_NUMERATOR];
+        }
+        return new Fraction(n, d);
+    }
+    
+    /**
+     * Returns fraction with given whole value and denominator 1, see {@link #valueOf(long, long)}
+     * 
+     * @param i whole value
+     * @return fraction <code>i/1</code>
+     */
+    public static Fraction valueOf(long i) {
+        return valueOf(i, 1);
+    }
     
     /**
      * Returns instance of Fraction, created by given Number instance
      * <p>
      * If given number already is instance of Fraction class, method will return casted to Fraction class.<br>
-     * In all other cases, it returns a new instance of Fraction class, created with {@link #Fraction(long)} by {@link Number#longValue()}
+     * If given number is instance of {@link MutableFraction}, method will return {@link MutableFraction#toFraction()}.<br>
+     * If given number is instance of {@link BigInteger}, method will return fraction with this numerator and denominator 1.<br>
+     * If given number is instance of {@link Double} or {@link Float}, method will return the closest fraction with denominator, not greater than
+     * {@link #NUMBER_DEFAULT_DENOMINATOR}, see {@link #approximate(double, long)}: <code>0.1</code> becomes <code>1/10</code>. Float is converted
+     * by its shortest decimal representation, so <code>0.1f</code> becomes <code>1/10</code> too.<br>
+     * In all other cases, it returns fraction, created with {@link #valueOf(long)} by {@link Number#longValue()}, so small whole numbers are
+     * not allocated
      * </p>
      * 
      * @param number any instance of Number class (and it's childs)
      * @return instance of Fraction, created by given Number instance
+     * @throws ArithmeticException if number is infinite or NaN
      */
     public static Fraction create(Number number) {
         if(number instanceof Fraction) {
             return (Fraction)number;
         }
-        if(number instanceof Double || number instanceof Float) {
-            if(number.longValue() != number.doubleValue()) {
-                return new Fraction((long)(number.doubleValue() * 100_000_000), 100_000_000L);
+        if(number instanceof MutableFraction) {
+            return ((MutableFraction)number).toFraction();
+        }
+        if(number instanceof BigInteger) {
+            return new Fraction((BigInteger)number, BigInteger.ONE);
+        }
+        if(number instanceof Double) {
+            return approximate(number.doubleValue(), NUMBER_DEFAULT_DENOMINATOR);
+        }
+        if(number instanceof Float) {
+            return approximate(Double.parseDouble(number.toString()), NUMBER_DEFAULT_DENOMINATOR);
+        }
+        return valueOf(number.longValue());
+    }
+    
+    /**
+     * Returns fraction, exactly equal to given <code>double</code> value
+     * <p>Any finite <code>double</code> is a dyadic fraction <i>m &#215; 2<sup>e</sup></i>, where <i>m</i> is 53-bit mantissa. Mantissa and
+     *    exponent are taken from bits of value by {@link Double#doubleToRawLongBits(double)}, and fraction is reduced by removing of trailing
+     *    zero bits of mantissa, without any division. Denominator of result is a power of two, so <code>0.1</code> becomes
+     *    <code>3602879701896397/36028797018963968</code>; use {@link #approximate(double, long)} to get fraction with small denominator</p>
+     * 
+     * @param value finite value
+     * @return fraction, equal to value
+     * @throws ArithmeticException if value is infinite or NaN
+     */
+    public static Fraction valueOf(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = (int)((bits >>> 52) & 0x7ff);
+        long mantissa = bits & 0xfffffffffffffL;
+        if(exponent == 0x7ff) {
+            throw new ArithmeticException("Cannot represent " + value + " by fraction");
+        }
+        /* subnormal value has no implicit leading bit and the same scale as the smallest normal value */
+        if(exponent == 0) {
+            exponent = 1;
+        } else {
+            mantissa |= 1L << 52;
+        }
+        if(mantissa == 0) {
+            return ZERO;
+        }
+        
+        int zeros = Long.numberOfTrailingZeros(mantissa);
+        mantissa >>= zeros;
+        exponent += zeros - 1075;
+        if(bits < 0) {
+            mantissa = -mantissa;
+        }
+        if(exponent >= 0) {
+            if(exponent < Long.numberOfLeadingZeros(Math.abs(mantissa))) {
+                return valueOf(mantissa << exponent);
+            }
+            return new Fraction(BigInteger.valueOf(mantissa).shiftLeft(exponent), BigInteger.ONE);
+        }
+        if(exponent > -63) {
+            return valueOf(mantissa, 1L << -exponent);
+        }
+        return new Fraction(BigInteger.valueOf(mantissa), BigInteger.ONE.shiftLeft(-exponent));
+    }
+    
+    /**
+     * Returns the closest to given value fraction, which denominator is not greater than specified
+     * <p>Value is expanded into <a href="https://en.wikipedia.org/wiki/Continued_fraction#Best_rational_approximations">continued fraction</a>,
+     *    and the best approximation is the last convergent or semiconvergent, which denominator fits into bound. So <code>0.1</code> becomes
+     *    <code>1/10</code> and <code>1.0 / 3</code> becomes <code>1/3</code>. Small denominators keep numerators and denominators of next
+     *    operations small, so they are calculated by fast <code>long</code> arithmetic without promotion to {@link BigInteger}</p>
+     * <p>Expansion uses only <code>long</code> values: value is taken as multiple of 2<sup>-62</sup>, which is exact for values not less than
+     *    2<sup>-10</sup> by absolute value, and expansion stops when numerator of convergent does not fit into <code>long</code>.
+     *    Whole values are returned exactly</p>
+     * <p>Second argument is a bound, not a denominator, as in {@link #valueOf(long, long)}: <code>approximate(1, 3)</code> returns
+     *    <code>1</code></p>
+     * 
+     * @param value finite value
+     * @param maxDenominator maximal denominator of result
+     * @return the closest fraction with bounded denominator
+     * @throws ArithmeticException if value is infinite or NaN
+     * @throws RuntimeException if maximal denominator is less than 1
+     */
+    public static Fraction approximate(double value, long maxDenominator) {
+        if(maxDenominator < 1) {
+            throw new RuntimeException("Maximal denominator cann't be less than 1 (given " + maxDenominator + ")");
+        }
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException("Cannot represent " + value + " by fraction");
+        }
+        /* values from 2^52 are whole */
+        if(Math.abs(value) >= 0x1p52 || value == (long)value) {
+            return valueOf(value);
+        }
+        
+        /* value, rounded to multiple of 1/maxDenominator, is the best approximation, if it is closer than 1/(2 * q * maxDenominator) */
+        double scaled = Math.rint(value * maxDenominator);
+        if(Math.abs(scaled) < 0x1p53) {
+            Fraction rounded = valueOf((long)scaled, maxDenominator);
+            long q = rounded.d;
+            if((double)rounded.n / q == value && Math.abs(value) * q * maxDenominator < 0x1p52) {
+                return rounded;
+            }
+        }
+        
+        int scale = Math.min(62, 61 - Math.getExponent(value));
+        long p = Math.round(Math.scalb(value, scale)), q = 1L << scale;
+        long numerator = p, denominator = q;
+        /* h1/k1 is the last convergent, h0/k0 is the previous one */
+        long h0 = 0, h1 = 1, k0 = 1, k1 = 0;
+        while(true) {
+            long a = Math.floorDiv(p, q);
+            long r = p - a * q;
+            if(k1 != 0 && a > (maxDenominator - k0) / k1) {
+                long t = (maxDenominator - k0) / k1;
+                if(2 * t < a || (2 * t == a && !isCloser(numerator, denominator, t * h1 + h0, t * k1 + k0, h1, k1))) {
+                    return valueOf(h1, k1);
+                }
+                return valueOf(t * h1 + h0, t * k1 + k0);
             }
+            
+            long h2;
+            try {
+                h2 = Math.addExact(Math.multiplyExact(a, h1), h0);
+            } catch(ArithmeticException e) {
+                return valueOf(h1, k1);
+            }
+            long k2 = a * k1 + k0;
+            if(r == 0) {
+                return valueOf(h2, k2);
+            }
+            h0 = h1;
+            h1 = h2;
+            k0 = k1;
+            k1 = k2;
+            p = q;
+            q = r;
         }
-        return new Fraction(number.longValue());
+    }
+    
+    /* true if a/b is strictly closer to x/y than c/d */
+    private static boolean isCloser(long x, long y, long a, long b, long c, long d) {
+        BigInteger bx = BigInteger.valueOf(x), by = BigInteger.valueOf(y);
+        BigInteger first = bx.multiply(BigInteger.valueOf(b)).subtract(BigInteger.valueOf(a).multiply(by)).abs().multiply(BigInteger.valueOf(d));
+        BigInteger second = bx.multiply(BigInteger.valueOf(d)).subtract(BigInteger.valueOf(c).multiply(by)).abs().multiply(BigInteger.valueOf(b));
+        return first.compareTo(second) < 0;
     }
     
     /**
@@ -72,6 +288,38 @@ public class Fraction extends Number {
         reduce();
     }
     
+    /**
+     * Initializes object by given values for numerator and denominator
+     * <p>Fraction is reduced, and if numerator and denominator fit into <code>long</code> values, fast representation is used</p>
+     * 
+     * @param n numerator value
+     * @param d denominator value
+     * @throws ArithmeticException if denominator equals zero
+     */
+    public Fraction(BigInteger n, BigInteger d) {
+        if(d.signum() == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        
+        if(d.signum() < 0) {
+            n = n.negate();
+            d = d.negate();
+        }
+        BigInteger gcd = n.gcd(d);
+        if(gcd.signum() != 0 && !gcd.equals(BigInteger.ONE)) {
+            n = n.divide(gcd);
+            d = d.divide(gcd);
+        }
+        
+        if(n.bitLength() < 64 && d.bitLength() < 64) {
+            this.n = n.longValue();
+            this.d = d.longValue();
+        } else {
+            this.bn = n;
+            this.bd = d;
+        }
+    }
+    
     /**
      * Initializes object by using given value as numerator and 1 as denominator
      * <p>Example:<br>
@@ -106,42 +354,131 @@ public class Fraction extends Number {
      *     Then numerator and denominator divides on GCD value and saves into object 
      * </p> 
      * <p>
+     *     If denominator equals 1, fraction is already reduced. If denominator is a power of two, GCD is a power of two too, 
+     *     so fraction is reduced by shifts without calculating GCD
+     * </p>
+     * <p>
      *     This method called automatically only at constructor on initializing fraction, because calculating GCD is slow and resource-intensive operation.<br>
      *     But it is recommended to call this method manually after every operations over this fraction and other BIG or unknown size fraction
      * </p>
+     * <p>After reduction denominator is always positive, so equal fractions have equal numerators and denominators</p>
      */
     public void reduce() {
-        if(n != 1 && d != 1) {
-            long gcd = VarargsMath.gcd(n, d);
-            n /= gcd;
-            d /= gcd;
-        }        
+        if(interned) {
+            return;
+        }
+        if(bn != null) {
+            Fraction reduced = new Fraction(bn, bd);
+            n = reduced.n;
+            d = reduced.d;
+            bn = reduced.bn;
+            bd = reduced.bd;
+            return;
+        }
+        if(n == 0) {
+            d = 1;
+            return;
+        }
+        if(d < 0) {
+            if(n == Long.MIN_VALUE || d == Long.MIN_VALUE) {
+                Fraction reduced = new Fraction(BigInteger.valueOf(n), BigInteger.valueOf(d));
+                n = reduced.n;
+                d = reduced.d;
+                bn = reduced.bn;
+                bd = reduced.bd;
+                return;
+            }
+            n = -n;
+            d = -d;
+        }
+        if(d == 1 || n == 1 || n == -1) {
+            return;
+        }
+        if((d & (d - 1)) == 0) {
+            int shift = Math.min(Long.numberOfTrailingZeros(n), Long.numberOfTrailingZeros(d));
+            n >>= shift;
+            d >>= shift;
+            return;
+        }
+        
+        long gcd = VarargsMath.gcd(n, d);
+        n /= gcd;
+        d /= gcd;
+    }
+    
+    /**
+     * Returns true if this fraction is represented by two {@link BigInteger} values, because its numerator or denominator does not fit into <code>long</code>
+     * 
+     * @return true if this fraction uses {@link BigInteger} representation
+     */
+    public boolean isBig() {
+        return bn != null;
+    }
+    
+    /**
+     * Returns sign of this fraction: -1, 0 or 1 for negative, zero or positive fraction
+     * 
+     * @return sign of this fraction
+     */
+    public int signum() {
+        if(bn != null) {
+            return bn.signum() * bd.signum();
+        }
+        return Long.signum(n) * Long.signum(d);
     }
     
     /**
      * Sets a new value for <i>numerator</i>
      * 
      * @param n new numerator value
+     * @throws UnsupportedOperationException if this fraction is shared instance, returned by {@link #valueOf(long, long)}
+     * @deprecated fractions are shared by {@link #valueOf(long, long)} and arithmetic methods, so change of fraction can be visible
+     *             in other places; create a new fraction instead
      */
+    @Deprecated
     public void setNumerator(long n) {
-        this.n = n;
+        checkMutable();
+        if(bn != null) {
+            bn = BigInteger.valueOf(n);
+        } else {
+            this.n = n;
+        }
     }
     
     /**
      * Sets a new value for <i>denominator</i>
      * 
      * @param d new denominator value
+     * @throws UnsupportedOperationException if this fraction is shared instance, returned by {@link #valueOf(long, long)}
+     * @deprecated fractions are shared by {@link #valueOf(long, long)} and arithmetic methods, so change of fraction can be visible
+     *             in other places; create a new fraction instead
      */
+    @Deprecated
     public void setDenominator(long d) {
-        this.d = d;
+        checkMutable();
+        if(bn != null) {
+            bd = BigInteger.valueOf(d);
+        } else {
+            this.d = d;
+        }
+    }
+    
+    private void checkMutable() {
+        if(interned) {
+            throw new UnsupportedOperationException("Cannot change shared fraction " + this + ", create a new one");
+        }
     }
     
     /**
      * Returns value of fraction's current numerator
      *  
      * @return value of fraction's current numerator
+     * @throws ArithmeticException if numerator does not fit into <code>long</code>, see {@link #isBig()}
      */
     public long getNumerator() {
+        if(bn != null) {
+            return bn.longValueExact();
+        }
         return n;
     }
     
@@ -149,11 +486,33 @@ public class Fraction extends Number {
      * Returns value of fraction's current denominator
      *  
      * @return value of fraction's current denominator
+     * @throws ArithmeticException if denominator does not fit into <code>long</code>, see {@link #isBig()}
      */
     public long getDenominator() {
+        if(bn != null) {
+            return bd.longValueExact();
+        }
         return d;
     }
     
+    /**
+     * Returns value of fraction's current numerator as {@link BigInteger}, regardless of representation
+     *  
+     * @return value of fraction's current numerator
+     */
+    public BigInteger getBigNumerator() {
+        return bn != null ? bn : BigInteger.valueOf(n);
+    }
+    
+    /**
+     * Returns value of fraction's current denominator as {@link BigInteger}, regardless of representation
+     *  
+     * @return value of fraction's current denominator
+     */
+    public BigInteger getBigDenominator() {
+        return bd != null ? bd : BigInteger.valueOf(d);
+    }
+    
     /**
      * Calculates a sum of this fraction with specified fraction 
      * 
@@ -161,9 +520,19 @@ public class Fraction extends Number {
      * @return a new instance of Fraction, respresenting sum of two fractions - this and specified
      */
     public Fraction sum(Fraction other) {
-        long fn = this.n * other.d + other.n * this.d;
-        long fd = this.d * other.d;
+        if(this.bn == null && other.bn == null) {
+            try {
+                long fn = Math.addExact(Math.multiplyExact(this.n, other.d), Math.multiplyExact(other.n, this.d));
+                long fd = Math.multiplyExact(this.d, other.d);
+                
+                return valueOf(fn, fd);
+            } catch(ArithmeticException e) {
+                /* overflow of long, result will be calculated by BigInteger values */
+            }
+        }
         
+        BigInteger fn = getBigNumerator().multiply(other.getBigDenominator()).add(other.getBigNumerator().multiply(getBigDenominator()));
+        BigInteger fd = getBigDenominator().multiply(other.getBigDenominator());
         return new Fraction(fn, fd);
     }
     
@@ -174,9 +543,19 @@ public class Fraction extends Number {
      * @return the result of subtracting the specified fraction from this fraction as new instance of Fraction
      */
     public Fraction sub(Fraction other) {
-        long fn = this.n * other.d - other.n * this.d;
-        long fd = this.d * other.d;
+        if(this.bn == null && other.bn == null) {
+            try {
+                long fn = Math.subtractExact(Math.multiplyExact(this.n, other.d), Math.multiplyExact(other.n, this.d));
+                long fd = Math.multiplyExact(this.d, other.d);
+                
+                return valueOf(fn, fd);
+            } catch(ArithmeticException e) {
+                /* overflow of long, result will be calculated by BigInteger values */
+            }
+        }
         
+        BigInteger fn = getBigNumerator().multiply(other.getBigDenominator()).subtract(other.getBigNumerator().multiply(getBigDenominator()));
+        BigInteger fd = getBigDenominator().multiply(other.getBigDenominator());
         return new Fraction(fn, fd);
     }
     
@@ -187,7 +566,15 @@ public class Fraction extends Number {
      * @return product of this fraction and specified fraction, represented by new instande of Fraction
      */
     public Fraction mul(Fraction other) {
-        return new Fraction(this.n * other.n, this.d * other.d);
+        if(this.bn == null && other.bn == null) {
+            try {
+                return valueOf(Math.multiplyExact(this.n, other.n), Math.multiplyExact(this.d, other.d));
+            } catch(ArithmeticException e) {
+                /* overflow of long, result will be calculated by BigInteger values */
+            }
+        }
+        
+        return new Fraction(getBigNumerator().multiply(other.getBigNumerator()), getBigDenominator().multiply(other.getBigDenominator()));
     }
     
     /**
@@ -202,7 +589,18 @@ public class Fraction extends Number {
      * @return a quotient of this fraction and specified fraction by multipling this fraction on inverted other
      */
     public Fraction div(Fraction other) {
-        return new Fraction(this.n * other.d, this.d * other.n);
+        if(this.bn == null && other.bn == null) {
+            try {
+                return valueOf(Math.multiplyExact(this.n, other.d), Math.multiplyExact(this.d, other.n));
+            } catch(ArithmeticException e) {
+                if(other.n == 0) {
+                    throw e;
+                }
+                /* overflow of long, result will be calculated by BigInteger values */
+            }
+        }
+        
+        return new Fraction(getBigNumerator().multiply(other.getBigDenominator()), getBigDenominator().multiply(other.getBigNumerator()));
     }
     
     /**
@@ -213,7 +611,10 @@ public class Fraction extends Number {
      * @return inverted version of this fraction as new instance of Fraction
      */
     public Fraction reverse() {
-        return new Fraction(d, n);
+        if(bn != null) {
+            return new Fraction(bd, bn);
+        }
+        return valueOf(d, n);
     }
     
     /**
@@ -221,7 +622,7 @@ public class Fraction extends Number {
      */
     @Override
     public int intValue() {
-        return (int)(n / d);
+        return (int)longValue();
     }
 
     /**
@@ -229,6 +630,9 @@ public class Fraction extends Number {
      */
     @Override
     public long longValue() {
+        if(bn != null) {
+            return bn.divide(bd).longValue();
+        }
         return n / d;
     }
 
@@ -237,6 +641,9 @@ public class Fraction extends Number {
      */
     @Override
     public float floatValue() {
+        if(bn != null) {
+            return (float)doubleValue();
+        }
         return ((float)n) / d;
     }
 
@@ -245,6 +652,9 @@ public class Fraction extends Number {
      */
     @Override
     public double doubleValue() {
+        if(bn != null) {
+            return new BigDecimal(bn).divide(new BigDecimal(bd), MathContext.DECIMAL128).doubleValue();
+        }
         return ((double)n) / (double)d;
     }
 
@@ -277,6 +687,17 @@ public class Fraction extends Number {
      */
     @Override
     public String toString() {
+        if(bn != null) {
+            BigInteger[] whole = bn.divideAndRemainder(bd);
+            StringBuilder r = new StringBuilder();
+            if(whole[0].signum() != 0) {
+                r.append(whole[0]);
+            }
+            if(whole[1].signum() != 0) {
+                r.append("(").append(whole[1]).append("/").append(bd).append(")");
+            }
+            return r.toString();
+        }
         if(n == 0) {
             return "0";
         }
@@ -300,6 +721,10 @@ public class Fraction extends Number {
         int result = 1;
         result = 31 * result + (int) (d ^ (d >>> 32));
         result = 31 * result + (int) (n ^ (n >>> 32));
+        if(bn != null) {
+            result = 31 * result + bd.hashCode();
+            result = 31 * result + bn.hashCode();
+        }
         return result;
     }
 
@@ -309,6 +734,6 @@ public class Fraction extends Number {
             return false;
         }
         Fraction other = (Fraction) obj;
-        return d != other.d || n != other.n;
+        return d == other.d && n == other.n && Objects.equals(bn, other.bn) && Objects.equals(bd, other.bd);
     }
 }
@@ -0,0 +1,158 @@
+package org.kllbff.magic.math.structs;
+
+import java.math.BigInteger;
+
+/*
+ * Fraction-free Gauss-Jordan elimination of integer matrix A, joined with identity matrix. Step k replaces each cell of other rows by
+ * (pivot * cell - multiplier * pivotRowCell) / previousPivot; by Sylvester's identity division is exact and each cell is a minor of joined matrix.
+ * After elimination left half is d * I and right half is adj(PA) = d * (PA)^-1, where P is rows permutation and d = det(PA) is the last pivot.
+ * Cells are kept in long values while they fit and in BigInteger otherwise. For long cells numerator is calculated in 128 bits; previous pivot
+ * is 2^s * q with odd q, so exact quotient is numerator, shifted by s, multiplied by inverse of q modulo 2^64, and quotient is checked by
+ * multiplying it back. If quotient does not fit into long, cell is calculated by BigInteger
+ */
+final class FractionFreeElimination {
+    private final int n;
+    private final long[][] small;
+    /* not null if cell does not fit into long */
+    private final BigInteger[][] big;
+    private final RowPermutation permutation;
+
+    FractionFreeElimination(int n) {
+        this.n = n;
+        this.small = new long[n][2 * n];
+        this.big = new BigInteger[n][2 * n];
+        this.permutation = new RowPermutation(n);
+        for(int i = 0; i < n; i++) {
+            small[i][n + i] = 1;
+        }
+    }
+
+    void set(int x, int y, long value) {
+        small[y][x] = value;
+        big[y][x] = null;
+    }
+
+    void set(int x, int y, BigInteger value) {
+        if(value.bitLength() < 64) {
+            set(x, y, value.longValue());
+        } else {
+            big[y][x] = value;
+        }
+    }
+
+    private BigInteger cell(int row, int column) {
+        BigInteger value = big[row][column];
+        return value != null ? value : BigInteger.valueOf(small[row][column]);
+    }
+
+    /* returns false if matrix is singular */
+    boolean eliminate() {
+        int width = 2 * n;
+        long previous = 1;
+        BigInteger previousBig = null;
+        for(int k = 0; k < n; k++) {
+            int p = k;
+            while(p < n && big[permutation.get(p)][k] == null && small[permutation.get(p)][k] == 0) {
+                p++;
+            }
+            if(p == n) {
+                return false;
+            }
+            permutation.swap(k, p);
+
+            int pivotRow = permutation.get(k);
+            long pivot = small[pivotRow][k];
+            BigInteger pivotBig = big[pivotRow][k];
+            int shift = Long.numberOfTrailingZeros(previous);
+            long odd = previous >> shift;
+            long inverse = inverse(odd);
+
+            for(int i = 0; i < n; i++) {
+                if(i == k) {
+                    continue;
+                }
+                int row = permutation.get(i);
+                long multiplier = small[row][k];
+                BigInteger multiplierBig = big[row][k];
+                boolean fast = previousBig == null && pivotBig == null && multiplierBig == null;
+                for(int j = k + 1; j < width; j++) {
+                    if(fast && big[row][j] == null && big[pivotRow][j] == null
+                            && divide(pivot, small[row][j], multiplier, small[pivotRow][j], shift, odd, inverse, small[row], j)) {
+                        continue;
+                    }
+                    BigInteger value = (pivotBig != null ? pivotBig : BigInteger.valueOf(pivot)).multiply(cell(row, j))
+                            .subtract((multiplierBig != null ? multiplierBig : BigInteger.valueOf(multiplier)).multiply(cell(pivotRow, j)))
+                            .divide(previousBig != null ? previousBig : BigInteger.valueOf(previous));
+                    set(j, row, value);
+                }
+                set(k, row, 0);
+            }
+            /* diagonal cells of previous rows are multiplied by pivot and divided by previous pivot, which they equal */
+            for(int i = 0; i < k; i++) {
+                small[permutation.get(i)][i] = pivot;
+                big[permutation.get(i)][i] = pivotBig;
+            }
+            previous = pivot;
+            previousBig = pivotBig;
+        }
+        return true;
+    }
+
+    /* writes (p * a - m * b) / (odd * 2^shift) into row[j], if it fits into long */
+    private static boolean divide(long p, long a, long m, long b, int shift, long odd, long inverse, long[] row, int j) {
+        long low1 = p * a, low2 = m * b;
+        long low = low1 - low2;
+        long high = multiplyHigh(p, a) - multiplyHigh(m, b) - (Long.compareUnsigned(low1, low2) < 0 ? 1 : 0);
+        if(shift > 0) {
+            low = (low >>> shift) | (high << (64 - shift));
+            high >>= shift;
+        }
+        long quotient = low * inverse;
+        if(multiplyHigh(quotient, odd) != high || quotient * odd != low) {
+            return false;
+        }
+        row[j] = quotient;
+        return true;
+    }
+
+    /* high 64 bits of 128-bit product of signed values */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32, x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32, y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+        return x1 * y1 + (t >> 32) + (z1 >> 32);
+    }
+
+    /* inverse of odd value modulo 2^64 by Newton's iterations, each doubles count of correct bits: 3, 6, 12, 24, 48, 96 */
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for(int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    RowPermutation getPermutation() {
+        return permutation;
+    }
+
+    /* last pivot: determinant of matrix with permuted rows */
+    BigInteger getPivot() {
+        return cell(permutation.get(n - 1), n - 1);
+    }
+
+    /* cell of right half, at x column and y row of permuted matrix */
+    boolean isSmall(int x, int y) {
+        return big[permutation.get(y)][n + x] == null;
+    }
+
+    long getSmall(int x, int y) {
+        return small[permutation.get(y)][n + x];
+    }
+
+    BigInteger getBig(int x, int y) {
+        return cell(permutation.get(y), n + x);
+    }
+}
@@ -1,5 +1,10 @@
 package org.kllbff.magic.math.structs;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * <h3>Represents double values matrix</h3>
  * <p>Matrix - is a group of numbers, placed into table with fixed width and height. This implentation uses array of arrays of Fraction objects to store given numbers</p>
@@ -20,6 +25,9 @@ package org.kllbff.magic.math.structs;
  *          <li>{@link #insertColumn(int, Fraction...)}</li>
  *          <li>{@link #insertRow(int, Fraction...)}</li>
  *     </ul>
+ *     and exact arithmetic operations: {@link #multiply(FractionsMatrix)}, {@link #add(FractionsMatrix)}, {@link #subtract(FractionsMatrix)}, 
+ *     {@link #scale(Fraction)}, {@link #transpose()}, {@link #inverse()} and {@link #adjugate()}</p>
+ * <p>Matrix is saved with exact numerators and denominators by {@link #writeTo(WritableByteChannel)} and loaded by {@link #readFrom(ReadableByteChannel)}</p>
  * 
  * @author Kirill Bogatikov
  * @since 1.0
@@ -49,6 +57,290 @@ public class FractionsMatrix extends Matrix<Fraction> {
         return copy;
     }
     
+    @Override
+    public FractionsMatrix transpose() {
+        FractionsMatrix transposed = new FractionsMatrix(height, width);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                transposed.mx[y][x] = mx[x][y];
+            }
+        }
+        return transposed;
+    }
+    
+    /**
+     * Returns exact product of this matrix and specified matrix
+     * <p>Each cell of product is accumulated in one {@link MutableFraction}, so intermediate sums do not create new objects</p>
+     * 
+     * @param other right multiplier
+     * @return a new instance of FractionsMatrix, containing product of matrices
+     * @throws RuntimeException if width of this matrix does not equal to height of other matrix
+     */
+    public FractionsMatrix multiply(FractionsMatrix other) {
+        if(width != other.height) {
+            throw new RuntimeException("Cannot multiply matrix " + width + "x" + height + " by matrix " + other.width + "x" + other.height);
+        }
+        
+        MutableFraction[] row = new MutableFraction[width];
+        MutableFraction[] column = new MutableFraction[width];
+        for(int k = 0; k < width; k++) {
+            row[k] = new MutableFraction();
+            column[k] = new MutableFraction();
+        }
+        
+        FractionsMatrix product = new FractionsMatrix(other.width, height);
+        MutableFraction cell = new MutableFraction();
+        for(int x = 0; x < other.width; x++) {
+            for(int k = 0; k < width; k++) {
+                column[k].set((Fraction)other.mx[x][k]);
+            }
+            for(int y = 0; y < height; y++) {
+                cell.set(0, 1);
+                for(int k = 0; k < width; k++) {
+                    row[k].set((Fraction)mx[k][y]);
+                    cell.mulAddInPlace(row[k], column[k]);
+                }
+                product.mx[x][y] = cell.toFraction();
+            }
+        }
+        return product;
+    }
+    
+    /**
+     * Returns exact sum of this matrix and specified matrix
+     * 
+     * @param other matrix with the same width and height
+     * @return a new instance of FractionsMatrix, containing sum of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public FractionsMatrix add(FractionsMatrix other) {
+        return combine(other, false);
+    }
+    
+    /**
+     * Returns exact difference of this matrix and specified matrix
+     * 
+     * @param other matrix with the same width and height
+     * @return a new instance of FractionsMatrix, containing difference of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public FractionsMatrix subtract(FractionsMatrix other) {
+        return combine(other, true);
+    }
+    
+    private FractionsMatrix combine(FractionsMatrix other, boolean subtract) {
+        if(width != other.width || height != other.height) {
+            throw new RuntimeException("Matrices have different sizes: " + width + "x" + height + " and " + other.width + "x" + other.height);
+        }
+        
+        FractionsMatrix result = new FractionsMatrix(width, height);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                Fraction a = (Fraction)mx[x][y], b = (Fraction)other.mx[x][y];
+                result.mx[x][y] = subtract ? a.sub(b) : a.sum(b);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns this matrix, exactly multiplied by specified fraction
+     * 
+     * @param k multiplier
+     * @return a new instance of FractionsMatrix, containing each cell of this matrix, multiplied by <code>k</code>
+     */
+    public FractionsMatrix scale(Fraction k) {
+        FractionsMatrix result = new FractionsMatrix(width, height);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                result.mx[x][y] = ((Fraction)mx[x][y]).mul(k);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns exact inverse of this matrix
+     * <p>Rows are scaled to integers and inverse is calculated by fraction-free Gauss-Jordan elimination of scaled matrix, joined with
+     *    identity matrix: as in {@link #getDeterminant(DeterminantMethod) Bareiss} algorithm, each intermediate value is an integer minor of
+     *    joined matrix and division by previous pivot is exact. Elimination needs <i>O(n<sup>3</sup>)</i> operations over <code>long</code>
+     *    values with 128-bit intermediate products; only values, which do not fit into <code>long</code>, are calculated by
+     *    {@link java.math.BigInteger BigInteger}</p>
+     * 
+     * @return a new instance of FractionsMatrix, containing inverse matrix
+     * @throws RuntimeException if matrix does not square or is singular
+     */
+    @Override
+    public FractionsMatrix inverse() {
+        return inverse(new FractionsMatrix(width, height));
+    }
+    
+    /**
+     * Calculates exact inverse of this matrix into given matrix, see {@link #inverse()}
+     * 
+     * @param result matrix with the same size as this one for inverse matrix; it can be this matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or is singular, or result matrix has other size
+     */
+    public FractionsMatrix inverse(FractionsMatrix result) {
+        checkResultSize(result);
+        int n = width;
+        BigInteger[] scales = new BigInteger[n];
+        FractionFreeElimination elimination = eliminateWithIdentity(scales);
+        if(elimination == null) {
+            throw new RuntimeException("Cannot invert singular matrix");
+        }
+        
+        /* A = S^-1 * B for scaled matrix B and diagonal S, so A^-1 = B^-1 * S: column x is multiplied by scale of row x */
+        BigInteger determinant = elimination.getPivot();
+        boolean small = determinant.bitLength() < 64;
+        for(int y = 0; y < n; y++) {
+            for(int x = 0; x < n; x++) {
+                if(small && scales[x] == null && elimination.isSmall(x, y)) {
+                    result.mx[x][y] = Fraction.valueOf(elimination.getSmall(x, y), determinant.longValue());
+                } else {
+                    BigInteger value = elimination.getBig(x, y);
+                    result.mx[x][y] = new Fraction(scales[x] == null ? value : value.multiply(scales[x]), determinant);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns exact adjugate of this matrix: transposed matrix of cofactors
+     * <p>Adjugate of non-singular matrix is calculated by the same fraction-free elimination as {@link #inverse()}: after it identity part of
+     *    joined matrix contains adjugate of scaled matrix without any division. Adjugate of singular matrix is calculated by minors of all cells,
+     *    which needs <i>O(n<sup>5</sup>)</i> operations</p>
+     * 
+     * @return a new instance of FractionsMatrix, containing adjugate matrix
+     * @throws RuntimeException if matrix does not square
+     */
+    @Override
+    public FractionsMatrix adjugate() {
+        return adjugate(new FractionsMatrix(width, height));
+    }
+    
+    /**
+     * Calculates exact adjugate of this matrix into given matrix, see {@link #adjugate()}
+     * 
+     * @param result matrix with the same size as this one for adjugate matrix; it can be this matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or result matrix has other size
+     */
+    public FractionsMatrix adjugate(FractionsMatrix result) {
+        checkResultSize(result);
+        int n = width;
+        BigInteger[] scales = new BigInteger[n];
+        FractionFreeElimination elimination = eliminateWithIdentity(scales);
+        if(elimination != null) {
+            /* adj(A) = det(A) * A^-1 = sign * det(B) / det(S) * B^-1 * S = sign * adj(B) * S / det(S) */
+            int sign = elimination.getPermutation().getSign();
+            BigInteger product = BigInteger.ONE;
+            for(BigInteger scale : scales) {
+                if(scale != null) {
+                    product = product.multiply(scale);
+                }
+            }
+            boolean scaled = !product.equals(BigInteger.ONE);
+            for(int y = 0; y < n; y++) {
+                for(int x = 0; x < n; x++) {
+                    if(!scaled && elimination.isSmall(x, y) && elimination.getSmall(x, y) != Long.MIN_VALUE) {
+                        result.mx[x][y] = Fraction.valueOf(sign * elimination.getSmall(x, y));
+                        continue;
+                    }
+                    BigInteger value = elimination.getBig(x, y);
+                    if(sign < 0) {
+                        value = value.negate();
+                    }
+                    if(scales[x] != null) {
+                        value = value.multiply(scales[x]);
+                    }
+                    result.mx[x][y] = new Fraction(value, product);
+                }
+            }
+            return result;
+        }
+        
+        if(n == 1) {
+            result.mx[0][0] = Fraction.ONE;
+            return result;
+        }
+        Fraction[][] cofactors = new Fraction[n][n];
+        for(int x = 0; x < n; x++) {
+            for(int y = 0; y < n; y++) {
+                Fraction minor = getMinorFor(y, x, DeterminantMethod.LU);
+                cofactors[x][y] = (x + y) % 2 == 0 ? minor : minor.mul(Fraction.MINUS_ONE);
+            }
+        }
+        for(int x = 0; x < n; x++) {
+            System.arraycopy(cofactors[x], 0, result.mx[x], 0, n);
+        }
+        return result;
+    }
+    
+    /**
+     * Scales each row of this matrix to integers by least common multiple of its denominators and eliminates scaled matrix, joined with
+     * identity matrix, by fraction-free Gauss-Jordan algorithm
+     * <p>After elimination right half of joined matrix contains <i>d &#215; B<sup>-1</sup></i>, where <i>B</i> is scaled matrix and <i>d</i>
+     *    is the last pivot: determinant of <i>B</i> with permuted rows</p>
+     * 
+     * @param scales array for scales of rows; scale of row, which already contains integers, is null
+     * @return eliminated matrix or null if matrix is singular
+     */
+    private FractionFreeElimination eliminateWithIdentity(BigInteger[] scales) {
+        int n = width;
+        FractionFreeElimination elimination = new FractionFreeElimination(n);
+        Fraction[] row = new Fraction[n];
+        for(int y = 0; y < n; y++) {
+            BigInteger scale = BigInteger.ONE;
+            for(int x = 0; x < n; x++) {
+                Number value = mx[x][y];
+                row[x] = value == null ? Fraction.ZERO : Fraction.create(value);
+                if(row[x].isBig() || row[x].getDenominator() != 1) {
+                    BigInteger denominator = row[x].getBigDenominator();
+                    scale = scale.divide(scale.gcd(denominator)).multiply(denominator);
+                }
+            }
+            
+            boolean scaled = !scale.equals(BigInteger.ONE);
+            scales[y] = scaled ? scale : null;
+            for(int x = 0; x < n; x++) {
+                if(!scaled && !row[x].isBig()) {
+                    elimination.set(x, y, row[x].getNumerator());
+                } else {
+                    elimination.set(x, y, row[x].getBigNumerator().multiply(scale.divide(row[x].getBigDenominator())));
+                }
+            }
+        }
+        return elimination.eliminate() ? elimination : null;
+    }
+    
+    /**
+     * Writes this matrix to channel in binary format with exact numerators and denominators
+     * <p>Each fraction is written as two little-endian <code>long</code> values; fraction, which does not fit into them, is written
+     *    by bytes of its {@link java.math.BigInteger BigInteger} numerator and denominator.
+     *    See {@link Matrix#writeTo(WritableByteChannel)} for more details</p>
+     */
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        write(channel, MatrixFormat.FRACTION);
+    }
+    
+    /**
+     * Reads matrix, written by {@link #writeTo(WritableByteChannel)}, from channel
+     * <p><code>double</code> cells, written by {@link Matrix} or {@link DoubleMatrix}, are converted by {@link Fraction#create(Number)}</p>
+     * 
+     * @param channel blocking source channel, it is not closed
+     * @return a new instance of FractionsMatrix
+     * @throws IOException if channel cannot be read
+     * @throws RuntimeException if channel does not contain matrix or its data is damaged
+     */
+    public static FractionsMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        MatrixFormat format = MatrixFormat.reader(channel);
+        return read(format, new FractionsMatrix(format.getWidth(), format.getHeight()));
+    }
+    
     public FractionsMatrix add(double value) {
         super.add(Fraction.create(value));
         return this;
@@ -66,34 +358,132 @@ public class FractionsMatrix extends Matrix<Fraction> {
      */
     @Override
     public Fraction getDeterminant() {
-        if(width != height) {
-            throw new RuntimeException("Cannot calculate determinant of non-square matrix (" + width + "x" + height + ")");
+        return getDeterminant(DeterminantMethod.AUTO);
+    }
+    
+    /**
+     * Returns matrix's determinant, calculated by specified algorithm
+     * <p>{@link DeterminantMethod#LU LU} method uses <a href="https://en.wikipedia.org/wiki/Bareiss_algorithm">Bareiss</a> fraction-free elimination:
+     *    each intermediate value is a minor of this matrix, so numerators and denominators do not grow as at ordinary Gauss elimination</p>
+     * See {@link Matrix#getDeterminant(DeterminantMethod)} for more details
+     */
+    @Override
+    public Fraction getDeterminant(DeterminantMethod method) {
+        return determinant(this, method);
+    }
+    
+    /**
+     * Returns addition minor for specified cell, calculated over {@link Fraction} values
+     * See {@link Matrix#getMinorFor(int, int)} for more details
+     */
+    @Override
+    public Fraction getMinorFor(int x, int y) {
+        return getMinorFor(x, y, DeterminantMethod.AUTO);
+    }
+    
+    /**
+     * Returns addition minor for specified cell, calculated over {@link Fraction} values by specified algorithm
+     * See {@link Matrix#getMinorFor(int, int, DeterminantMethod)} for more details
+     */
+    @Override
+    public Fraction getMinorFor(int x, int y, DeterminantMethod method) {
+        return determinant(new MinorMatrix<Fraction>(this, x, y), method);
+    }
+    
+    /**
+     * Calculates determinant of any matrix of fractions, including {@link MatrixView views} of FractionsMatrix: cells are read by
+     * {@link Matrix#get(int, int)}
+     * 
+     * @param matrix square matrix of fractions
+     * @param method algorithm of calculation
+     * @return determinant of matrix
+     */
+    static Fraction determinant(Matrix<Fraction> matrix, DeterminantMethod method) {
+        int width = matrix.getWidth();
+        if(width != matrix.getHeight()) {
+            throw new RuntimeException("Cannot calculate determinant of non-square matrix (" + width + "x" + matrix.getHeight() + ")");
+        }
+        
+        if(method == DeterminantMethod.LU || (method == DeterminantMethod.AUTO && width > 3)) {
+            return getBareissDeterminant(matrix);
+        }
+        
+        if(width == 1) {
+            return matrix.get(0, 0);
         }
         
         if(width == 2) {
-            return get(0, 0).mul(get(1, 1)).sub(get(0, 1).mul(get(1, 0)));
+            return matrix.get(0, 0).mul(matrix.get(1, 1)).sub(matrix.get(0, 1).mul(matrix.get(1, 0)));
         }
         
         if(width == 3) {
-            return get(0, 0).mul(get(1, 1)).mul(get(2, 2)).sum( 
-                   get(0, 2).mul(get(1, 0)).mul(get(2, 1))).sum( 
-                   get(0, 1).mul(get(1, 2)).mul(get(2, 0))).sub(
-                   get(0, 2).mul(get(1, 1)).mul(get(2, 0))).sub(
-                   get(0, 0).mul(get(2, 1)).mul(get(1, 2))).sub(
-                   get(1, 0).mul(get(0, 1)).mul(get(2, 2)));
+            return matrix.get(0, 0).mul(matrix.get(1, 1)).mul(matrix.get(2, 2)).sum( 
+                   matrix.get(0, 2).mul(matrix.get(1, 0)).mul(matrix.get(2, 1))).sum( 
+                   matrix.get(0, 1).mul(matrix.get(1, 2)).mul(matrix.get(2, 0))).sub(
+                   matrix.get(0, 2).mul(matrix.get(1, 1)).mul(matrix.get(2, 0))).sub(
+                   matrix.get(0, 0).mul(matrix.get(2, 1)).mul(matrix.get(1, 2))).sub(
+                   matrix.get(1, 0).mul(matrix.get(0, 1)).mul(matrix.get(2, 2)));
         }
         
-        Fraction determ = new Fraction();
+        Fraction determ = Fraction.ZERO;
         int k;
         for(int i = 0; i < width; i++) {
             if(i % 2 == 0) {
-                k = -1;
-            } else {
                 k = 1;
+            } else {
+                k = -1;
             }
-            determ = determ.sum(get(i, 0).mul(new Fraction(k)).mul((Fraction)getMinorFor(i, 1))); 
+            Fraction minor = determinant(new MinorMatrix<Fraction>(matrix, i, 0), method);
+            determ = determ.sum(matrix.get(i, 0).mul(Fraction.valueOf(k)).mul(minor)); 
         }
         
         return determ;
     }
+    
+    /**
+     * Calculates determinant by Bareiss elimination over copy of cells, swapping rows when pivot is zero
+     * 
+     * @param matrix square matrix of fractions
+     * @return matrix's determinant
+     */
+    private static Fraction getBareissDeterminant(Matrix<Fraction> matrix) {
+        int n = matrix.getWidth();
+        Fraction[][] rows = new Fraction[n][n];
+        for(int x = 0; x < n; x++) {
+            for(int y = 0; y < n; y++) {
+                rows[y][x] = matrix.get(x, y);
+            }
+        }
+        
+        boolean negative = false;
+        Fraction previous = Fraction.ONE;
+        for(int k = 0; k < n - 1; k++) {
+            if(rows[k][k].signum() == 0) {
+                int i = k + 1;
+                while(i < n && rows[i][k].signum() == 0) {
+                    i++;
+                }
+                if(i == n) {
+                    return Fraction.ZERO;
+                }
+                Fraction[] row = rows[i];
+                rows[i] = rows[k];
+                rows[k] = row;
+                negative = !negative;
+            }
+            
+            Fraction pivot = rows[k][k];
+            for(int i = k + 1; i < n; i++) {
+                Fraction[] row = rows[i];
+                Fraction m = row[k];
+                for(int j = k + 1; j < n; j++) {
+                    row[j] = row[j].mul(pivot).sub(m.mul(rows[k][j])).div(previous);
+                }
+            }
+            previous = pivot;
+        }
+        
+        Fraction determ = rows[n - 1][n - 1];
+        return negative ? determ.mul(Fraction.MINUS_ONE) : determ;
+    }
 }
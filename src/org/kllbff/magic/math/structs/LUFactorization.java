@@ -0,0 +1,166 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents LU decomposition of square matrix</h3>
+ * <p>Decomposition is calculated once, by Gauss elimination with partial pivoting: <code>PA = LU</code>, where <i>P</i> is a rows permutation,
+ *    <i>L</i> is a lower triangular matrix with unit diagonal and <i>U</i> is an upper triangular matrix. Both triangular matrices are stored in one
+ *    flat array of <code>double</code> values.</p>
+ * <p>Rows are never moved in memory: pivoting swaps rows of {@link RowPermutation} in constant time and all rows are accessed through it</p>
+ * <p>It needs <i>O(n<sup>3</sup>)</i> operations, but after that each system with the same coefficients and other free column can be solved by
+ *    {@link #solve(double...)} in <i>O(n<sup>2</sup>)</i> operations, and matrix's determinant is returned by {@link #getDeterminant()} without any calculations</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class LUFactorization {
+    private double[] lu;
+    private RowPermutation permutation;
+    private int size;
+    private double determinant;
+    private boolean singular;
+
+    /**
+     * Calculates decomposition of given matrix
+     *
+     * @param matrix square matrix
+     * @throws RuntimeException if matrix does not square
+     */
+    public LUFactorization(Matrix<? extends Number> matrix) {
+        this(DoubleMatrix.create(matrix));
+    }
+
+    /**
+     * Calculates decomposition of given matrix
+     * <p>Given matrix does not change</p>
+     *
+     * @param matrix square matrix
+     * @throws RuntimeException if matrix does not square
+     */
+    public LUFactorization(DoubleMatrix matrix) {
+        if(matrix.getWidth() != matrix.getHeight()) {
+            throw new RuntimeException("Cannot decompose non-square matrix (" + matrix.getWidth() + "x" + matrix.getHeight() + ")");
+        }
+
+        this.size = matrix.getWidth();
+        this.lu = matrix.copy().data;
+        this.permutation = new RowPermutation(size);
+        factorize();
+    }
+
+    private void factorize() {
+        int n = size;
+        for(int k = 0; k < n; k++) {
+            int pivot = k;
+            double max = Math.abs(lu[permutation.get(k) * n + k]);
+            for(int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[permutation.get(i) * n + k]);
+                if(value > max) {
+                    max = value;
+                    pivot = i;
+                }
+            }
+            if(max == 0.0) {
+                singular = true;
+                continue;
+            }
+            permutation.swap(k, pivot);
+
+            int row = permutation.get(k) * n;
+            double diagonal = lu[row + k];
+            for(int i = k + 1; i < n; i++) {
+                int current = permutation.get(i) * n;
+                double m = lu[current + k] / diagonal;
+                lu[current + k] = m;
+                if(m != 0.0) {
+                    for(int j = k + 1; j < n; j++) {
+                        lu[current + j] -= m * lu[row + j];
+                    }
+                }
+            }
+        }
+
+        determinant = 0.0;
+        if(!singular) {
+            determinant = permutation.getSign();
+            for(int k = 0; k < n; k++) {
+                determinant *= lu[permutation.get(k) * n + k];
+            }
+        }
+    }
+
+    /**
+     * Returns size of decomposed matrix
+     *
+     * @return size of decomposed matrix
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if decomposed matrix is singular: its determinant equals zero and systems with it have no single solution
+     *
+     * @return true if decomposed matrix is singular
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Returns determinant of decomposed matrix: product of diagonal of <i>U</i> with sign of rows permutation
+     *
+     * @return determinant of decomposed matrix
+     */
+    public double getDeterminant() {
+        return determinant;
+    }
+
+    /**
+     * Solves system with decomposed matrix and specified free column
+     *
+     * @param free values of free column
+     * @return a new array of unknowns
+     * @throws RuntimeException if free column has not enough items or matrix is singular
+     */
+    public double[] solve(double... free) {
+        return solve(free, new double[size]);
+    }
+
+    /**
+     * Solves system with decomposed matrix and specified free column, writing unknowns into given array
+     * <p>This method does not allocate any memory, so it can be called in a loop for many free columns</p>
+     *
+     * @param free values of free column
+     * @param result array for unknowns, must have at least {@link #getSize()} items and must not be the free column array
+     * @return given result array
+     * @throws RuntimeException if free column has not enough items or matrix is singular
+     */
+    public double[] solve(double[] free, double[] result) {
+        if(free.length < size) {
+            throw new RuntimeException("Free column has not enough items: " + free.length + ", " + size + " need");
+        }
+        if(singular) {
+            throw new RuntimeException("Equations system has no single solution: matrix is singular");
+        }
+
+        int n = size;
+        for(int i = 0; i < n; i++) {
+            int row = permutation.get(i) * n;
+            double value = free[permutation.get(i)];
+            for(int j = 0; j < i; j++) {
+                value -= lu[row + j] * result[j];
+            }
+            result[i] = value;
+        }
+        for(int i = n - 1; i > -1; i--) {
+            int row = permutation.get(i) * n;
+            double value = result[i];
+            for(int j = i + 1; j < n; j++) {
+                value -= lu[row + j] * result[j];
+            }
+            result[i] = value / lu[row + i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,327 @@
+package org.kllbff.magic.math.structs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <h3>Represents primitive double values matrix, stored in file</h3>
+ * <p>Cells are placed in file row by row, as little-endian <code>double</code> values, and file is mapped into memory by {@link FileChannel#map}.
+ *    Operating system loads and writes back only used pages of file, so matrix can be much bigger than Java heap. One mapped buffer
+ *    cannot exceed 2 GB, therefore file is mapped by several chunks, each contains whole rows and is not bigger than {@link #DEFAULT_CHUNK_SIZE} bytes</p>
+ * <p>MappedDoubleMatrix has the same cell and row methods as {@link DoubleMatrix}: {@link #get(int, int)}, {@link #set(int, int, double)},
+ *    {@link #add(double)}, {@link #getRow(int)} and {@link #getColumn(int)}, and bulk methods {@link #readRow(int, int, double[], int, int)} and
+ *    {@link #writeRow(int, int, double[], int, int)} for parts of rows. Rows are read without allocation of arrays by {@link #copyRowInto(int, double[])}
+ *    and {@link #rows()}, and {@link #rowBuffer(int)} gives row of mapped file itself. Its size cannot be changed</p>
+ * <p>Systems of equations with this matrix are solved by {@link MappedLUFactorization}, which eliminates matrix panel by panel in place</p>
+ * <p>Matrix keeps file open until {@link #close()}. Changes are written to file by operating system, {@link #flush()} forces writing</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class MappedDoubleMatrix implements Closeable {
+    public static final long DEFAULT_CHUNK_SIZE = 1L << 30;
+    private FileChannel channel;
+    private MappedByteBuffer[] buffers;
+    private DoubleBuffer[] chunks;
+    private int rowsPerChunk;
+    private int width, height;
+    private int x, y;
+
+    /**
+     * Opens or creates file with matrix of specified width and height
+     * <p>If file is shorter than <code>8 &#215; width &#215; height</code> bytes, it is extended by zeros. Existing cells are kept</p>
+     *
+     * @param file path to file
+     * @param width width of matrix
+     * @param height height of matrix
+     * @throws IOException if file cannot be opened or mapped
+     * @throws RuntimeException if width or height less than 1
+     */
+    public MappedDoubleMatrix(Path file, int width, int height) throws IOException {
+        this(file, width, height, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Opens or creates file with matrix of specified width and height, mapped by chunks of specified size
+     *
+     * @param file path to file
+     * @param width width of matrix
+     * @param height height of matrix
+     * @param chunkSize maximal size of one mapped chunk in bytes, it must contain at least one row and must not exceed {@link Integer#MAX_VALUE}
+     * @throws IOException if file cannot be opened or mapped
+     * @throws RuntimeException if width or height less than 1 or row does not fit into chunk
+     */
+    public MappedDoubleMatrix(Path file, int width, int height, long chunkSize) throws IOException {
+        if(width < 1) {
+            throw new RuntimeException("Matrix's width cann't be less than 1 (given " + width + ")");
+        }
+        if(height < 1) {
+            throw new RuntimeException("Matrix's height cann't be less than 1 (given " + height + ")");
+        }
+        long rowSize = (long)width * Double.BYTES;
+        if(chunkSize > Integer.MAX_VALUE || rowSize > chunkSize) {
+            throw new RuntimeException("Chunk of " + chunkSize + " bytes cannot contain row of " + rowSize + " bytes");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.rowsPerChunk = (int)Math.min(chunkSize / rowSize, height);
+
+        int count = (height + rowsPerChunk - 1) / rowsPerChunk;
+        buffers = new MappedByteBuffer[count];
+        chunks = new DoubleBuffer[count];
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            for(int i = 0; i < count; i++) {
+                int rows = Math.min(rowsPerChunk, height - i * rowsPerChunk);
+                buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * rowsPerChunk * rowSize, rows * rowSize);
+                buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+                chunks[i] = buffers[i].asDoubleBuffer();
+            }
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns matrix's width
+     *
+     * @return matrix's width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns matrix's height
+     *
+     * @return matrix's height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns value stored in cell at x column and y row
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @return value stored in specified cell
+     */
+    public double get(int x, int y) {
+        return chunks[y / rowsPerChunk].get((y % rowsPerChunk) * width + x);
+    }
+
+    /**
+     * Sets a new value to specified cell
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @param val new value
+     * @return pointer to this MappedDoubleMatrix
+     */
+    public MappedDoubleMatrix set(int x, int y, double val) {
+        chunks[y / rowsPerChunk].put((y % rowsPerChunk) * width + x, val);
+        return this;
+    }
+
+    /**
+     * Adds value to next cell. Cell specifies by internal field x and y, incremtable at each call this method
+     * <p>
+     * After saving value, x-pointer increases by 1. If value of x-pointer bigger than width, y-poiter increases by 1
+     * and x-pointer sets to zero.
+     * </p>
+     *
+     * @param val value for cell
+     * @return pointer to this MappedDoubleMatrix
+     */
+    public MappedDoubleMatrix add(double val) {
+        set(x++, y, val);
+        if(x == width) {
+            x = 0;
+            y++;
+        }
+        return this;
+    }
+
+    private DoubleBuffer row(int y, int x) {
+        DoubleBuffer buffer = chunks[y / rowsPerChunk].duplicate();
+        buffer.position((y % rowsPerChunk) * width + x);
+        return buffer;
+    }
+
+    /**
+     * Reads part of row into given array
+     *
+     * @param y index of row
+     * @param x index of first column
+     * @param result array for values
+     * @param offset index of first value in result array
+     * @param length count of values
+     * @return given result array
+     */
+    public double[] readRow(int y, int x, double[] result, int offset, int length) {
+        row(y, x).get(result, offset, length);
+        return result;
+    }
+
+    /**
+     * Writes part of row from given array
+     *
+     * @param y index of row
+     * @param x index of first column
+     * @param values array of new values
+     * @param offset index of first value in values array
+     * @param length count of values
+     * @return pointer to this MappedDoubleMatrix
+     */
+    public MappedDoubleMatrix writeRow(int y, int x, double[] values, int offset, int length) {
+        row(y, x).put(values, offset, length);
+        return this;
+    }
+
+    /**
+     * Returns one row from matrix
+     *
+     * @param y index of row
+     * @return a new array, containing values of row
+     */
+    public double[] getRow(int y) {
+        return readRow(y, 0, new double[width], 0, width);
+    }
+
+    /**
+     * Returns one column from matrix
+     * <p>Values of column are placed in different rows, so each value can be read from different page of file</p>
+     *
+     * @param x index of column
+     * @return a new array, containing values of column
+     */
+    public double[] getColumn(int x) {
+        double[] column = new double[height];
+        for(int y = 0; y < height; y++) {
+            column[y] = get(x, y);
+        }
+        return column;
+    }
+
+    /**
+     * Replaces values of row by given
+     *
+     * @param y index of row
+     * @param row new values, at least {@link #getWidth()}
+     * @return pointer to this MappedDoubleMatrix
+     */
+    public MappedDoubleMatrix setRow(int y, double... row) {
+        return writeRow(y, 0, row, 0, width);
+    }
+
+    /**
+     * Copies values of one row into given array without allocation of array
+     *
+     * @param y index of row
+     * @param row array for values, at least {@link #getWidth()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyRowInto(int y, double[] row) {
+        if(row.length < width) {
+            throw new RuntimeException("Array has not enough items for row: " + row.length + ", " + width + " need");
+        }
+        return readRow(y, 0, row, 0, width);
+    }
+
+    /**
+     * Copies values of one column into given array without allocation of array
+     *
+     * @param x index of column
+     * @param column array for values, at least {@link #getHeight()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyColumnInto(int x, double[] column) {
+        if(column.length < height) {
+            throw new RuntimeException("Array has not enough items for column: " + column.length + ", " + height + " need");
+        }
+        for(int y = 0; y < height; y++) {
+            column[y] = get(x, y);
+        }
+        return column;
+    }
+
+    /**
+     * Returns view of one row as buffer of <code>double</code> values
+     * <p>Buffer is a slice of mapped file: values are not copied into Java heap, and changes of buffer are changes of row.
+     *    Buffer must not be used after {@link #close()}</p>
+     *
+     * @param y index of row
+     * @return a new buffer with {@link #getWidth()} values of row
+     */
+    public DoubleBuffer rowBuffer(int y) {
+        if(y < 0 || y >= height) {
+            throw new RuntimeException("Row " + y + " is out of matrix with " + height + " rows");
+        }
+        DoubleBuffer buffer = row(y, 0);
+        buffer.limit(buffer.position() + width);
+        return buffer.slice();
+    }
+
+    /**
+     * Returns cursor over rows of this matrix, which copies each row into one array by {@link #readRow(int, int, double[], int, int)}
+     *
+     * @return a new cursor before the first row
+     * @see RowCursor
+     */
+    public RowCursor rows() {
+        return new RowCursor(new double[width], width, height) {
+            @Override
+            protected void load(int y) {
+                readRow(y, 0, values, 0, width);
+            }
+        };
+    }
+
+    /**
+     * Returns a new instance of DoubleMatrix, containing all values from this matrix
+     * <p>Whole matrix is loaded into Java heap, so use it only for matrices, which fit into memory</p>
+     *
+     * @return a new instance of DoubleMatrix
+     */
+    public DoubleMatrix toDoubleMatrix() {
+        DoubleMatrix matrix = new DoubleMatrix(width, height);
+        double[] row = new double[width];
+        for(int y = 0; y < height; y++) {
+            readRow(y, 0, row, 0, width);
+            System.arraycopy(row, 0, matrix.data, y * matrix.stride, width);
+        }
+        return matrix;
+    }
+
+    /**
+     * Forces writing of all changes to file
+     */
+    public void flush() {
+        for(MappedByteBuffer buffer : buffers) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Closes file of matrix
+     * <p>Mapped memory is released by garbage collector, so matrix must not be used after closing</p>
+     *
+     * @throws IOException if file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,235 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents LU decomposition of square matrix, stored in file</h3>
+ * <p>Decomposition is calculated in place: cells of given {@link MappedDoubleMatrix} are replaced by <i>L</i> (under diagonal) and <i>U</i>
+ *    (on and over diagonal), like in {@link LUFactorization}. Rows are never moved in file, partial pivoting swaps rows of {@link RowPermutation}</p>
+ * <p>Matrix is eliminated by panels of {@link #DEFAULT_PANEL_WIDTH} columns. For each panel:
+ *     <ol>
+ *          <li>columns of panel are loaded into heap and factorized with partial pivoting;</li>
+ *          <li>pivot rows right of panel are solved by unit lower triangle of panel;</li>
+ *          <li>each next row of matrix is read once, updated by all columns of panel and written back.</li>
+ *     </ol>
+ *    So whole trailing matrix is read once per panel instead of once per column, and heap contains only two arrays of <i>n &#215; panel</i> values</p>
+ * <p>Each system with the same coefficients and other free column is solved by {@link #solve(double...)} in <i>O(n<sup>2</sup>)</i> operations,
+ *    which read decomposition from file row by row</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class MappedLUFactorization {
+    public static final int DEFAULT_PANEL_WIDTH = 128;
+    private MappedDoubleMatrix lu;
+    private RowPermutation permutation;
+    private int size;
+    private int panelWidth;
+    private double determinant;
+    private boolean singular;
+    private double[] row;
+
+    /**
+     * Calculates decomposition of given matrix in place by panels of {@link #DEFAULT_PANEL_WIDTH} columns
+     *
+     * @param matrix square matrix, its cells are replaced by decomposition
+     * @throws RuntimeException if matrix does not square
+     */
+    public MappedLUFactorization(MappedDoubleMatrix matrix) {
+        this(matrix, DEFAULT_PANEL_WIDTH);
+    }
+
+    /**
+     * Calculates decomposition of given matrix in place by panels of specified width
+     * <p>Wider panel means less passes over file, but more memory: two arrays of <code>size &#215; panelWidth</code> values</p>
+     *
+     * @param matrix square matrix, its cells are replaced by decomposition
+     * @param panelWidth count of columns in one panel
+     * @throws RuntimeException if matrix does not square or panel width less than 1
+     */
+    public MappedLUFactorization(MappedDoubleMatrix matrix, int panelWidth) {
+        if(matrix.getWidth() != matrix.getHeight()) {
+            throw new RuntimeException("Cannot decompose non-square matrix (" + matrix.getWidth() + "x" + matrix.getHeight() + ")");
+        }
+        if(panelWidth < 1) {
+            throw new RuntimeException("Panel must contain at least one column (given " + panelWidth + ")");
+        }
+
+        this.lu = matrix;
+        this.size = matrix.getWidth();
+        this.panelWidth = Math.min(panelWidth, size);
+        this.permutation = new RowPermutation(size);
+        this.row = new double[size];
+        factorize();
+    }
+
+    private void factorize() {
+        int n = size;
+        double[] panel = new double[n * panelWidth];
+        double[] top = new double[Math.max(n - panelWidth, 0) * panelWidth];
+
+        for(int k0 = 0; k0 < n; k0 += panelWidth) {
+            int k1 = Math.min(k0 + panelWidth, n);
+            int w = k1 - k0, m = n - k0, rest = n - k1;
+
+            for(int r = 0; r < m; r++) {
+                lu.readRow(permutation.get(k0 + r), k0, panel, r * w, w);
+            }
+            factorizePanel(panel, k0, w, m);
+            for(int r = 0; r < m; r++) {
+                lu.writeRow(permutation.get(k0 + r), k0, panel, r * w, w);
+            }
+            if(rest == 0) {
+                break;
+            }
+
+            /* pivot rows right of panel: U12 = L11^-1 * A12 */
+            for(int j = 0; j < w; j++) {
+                lu.readRow(permutation.get(k0 + j), k1, top, j * rest, rest);
+                for(int p = 0; p < j; p++) {
+                    double l = panel[j * w + p];
+                    if(l != 0.0) {
+                        for(int c = 0; c < rest; c++) {
+                            top[j * rest + c] -= l * top[p * rest + c];
+                        }
+                    }
+                }
+                lu.writeRow(permutation.get(k0 + j), k1, top, j * rest, rest);
+            }
+
+            /* trailing rows: A22 = A22 - L21 * U12, each row is read and written once */
+            for(int r = w; r < m; r++) {
+                int physical = permutation.get(k0 + r);
+                lu.readRow(physical, k1, row, 0, rest);
+                for(int p = 0; p < w; p++) {
+                    double l = panel[r * w + p];
+                    if(l != 0.0) {
+                        for(int c = 0; c < rest; c++) {
+                            row[c] -= l * top[p * rest + c];
+                        }
+                    }
+                }
+                lu.writeRow(physical, k1, row, 0, rest);
+            }
+        }
+
+        determinant = 0.0;
+        if(!singular) {
+            determinant = permutation.getSign();
+            for(int k = 0; k < n; k++) {
+                determinant *= lu.get(k, permutation.get(k));
+            }
+        }
+    }
+
+    private void factorizePanel(double[] panel, int k0, int w, int m) {
+        for(int j = 0; j < w; j++) {
+            int pivot = j;
+            double max = Math.abs(panel[j * w + j]);
+            for(int r = j + 1; r < m; r++) {
+                double value = Math.abs(panel[r * w + j]);
+                if(value > max) {
+                    max = value;
+                    pivot = r;
+                }
+            }
+            if(max == 0.0) {
+                singular = true;
+                continue;
+            }
+            if(pivot != j) {
+                permutation.swap(k0 + j, k0 + pivot);
+                for(int c = 0; c < w; c++) {
+                    double t = panel[j * w + c];
+                    panel[j * w + c] = panel[pivot * w + c];
+                    panel[pivot * w + c] = t;
+                }
+            }
+
+            double diagonal = panel[j * w + j];
+            for(int r = j + 1; r < m; r++) {
+                double multiplier = panel[r * w + j] / diagonal;
+                panel[r * w + j] = multiplier;
+                if(multiplier != 0.0) {
+                    for(int c = j + 1; c < w; c++) {
+                        panel[r * w + c] -= multiplier * panel[j * w + c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns size of decomposed matrix
+     *
+     * @return size of decomposed matrix
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if decomposed matrix is singular: its determinant equals zero and systems with it have no single solution
+     *
+     * @return true if decomposed matrix is singular
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Returns determinant of decomposed matrix: product of diagonal of <i>U</i> with sign of rows permutation
+     * <p>Determinant of big matrix can easily overflow <code>double</code> range</p>
+     *
+     * @return determinant of decomposed matrix
+     */
+    public double getDeterminant() {
+        return determinant;
+    }
+
+    /**
+     * Solves system with decomposed matrix and specified free column
+     *
+     * @param free values of free column
+     * @return a new array of unknowns
+     * @throws RuntimeException if free column has not enough items or matrix is singular
+     */
+    public double[] solve(double... free) {
+        return solve(free, new double[size]);
+    }
+
+    /**
+     * Solves system with decomposed matrix and specified free column, writing unknowns into given array
+     *
+     * @param free values of free column
+     * @param result array for unknowns, must have at least {@link #getSize()} items and must not be the free column array
+     * @return given result array
+     * @throws RuntimeException if free column has not enough items or matrix is singular
+     */
+    public double[] solve(double[] free, double[] result) {
+        if(free.length < size) {
+            throw new RuntimeException("Free column has not enough items: " + free.length + ", " + size + " need");
+        }
+        if(singular) {
+            throw new RuntimeException("Equations system has no single solution: matrix is singular");
+        }
+
+        int n = size;
+        for(int i = 0; i < n; i++) {
+            lu.readRow(permutation.get(i), 0, row, 0, i);
+            double value = free[permutation.get(i)];
+            for(int j = 0; j < i; j++) {
+                value -= row[j] * result[j];
+            }
+            result[i] = value;
+        }
+        for(int i = n - 1; i > -1; i--) {
+            lu.readRow(permutation.get(i), i, row, 0, n - i);
+            double value = result[i];
+            for(int j = 1; j < n - i; j++) {
+                value -= row[j] * result[i + j];
+            }
+            result[i] = value / row[0];
+        }
+        return result;
+    }
+}
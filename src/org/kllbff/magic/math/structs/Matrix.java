@@ -1,5 +1,8 @@
 package org.kllbff.magic.math.structs;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -15,6 +18,8 @@ import java.util.List;
  *          <li>{@link #getMinorFor(int, int)} - for calculating addition minor for specified cell</li>
  *          <li>{@link #getDeterminant()} - for calculating matrix's determinant</li>
  *          <li>getters for width and height</li>
+ *          <li>{@link #copyRowInto(int, double[])}, {@link #copyColumnInto(int, double[])} and {@link #rows()} - for reading rows and columns
+ *              without allocation of memory</li>
  *     </ul>
  *     and some specific methods that facilitate the work with matrix:
  *     <ul>
@@ -24,7 +29,15 @@ import java.util.List;
  *          <li>{@link #addRows(int)}</li>
  *          <li>{@link #insertColumn(int, E...)}</li>
  *          <li>{@link #insertRow(int, E...)}</li>
+ *          <li>{@link #swapRows(int, int)} and {@link #swapColumns(int, int)}</li>
+ *          <li>{@link #permuteRows()} - for creating view with logical order of rows, see {@link PermutedMatrix}</li>
+ *          <li>{@link #subMatrix(int, int, int, int)}, {@link #minorMatrix(int, int)} and {@link #transposedView()} - for creating read-only
+ *              views without copying of cells, see {@link MatrixView}</li>
  *     </ul>
+ *     and arithmetic operations: {@link #multiply(Matrix)}, {@link #add(Matrix)}, {@link #subtract(Matrix)}, {@link #scale(double)}, {@link #transpose()},
+ *     {@link #inverse()} and {@link #adjugate()}.
+ *     Arithmetic operations are calculated over primitive {@link DoubleMatrix}, see {@link DoubleMatrix#multiply(DoubleMatrix)}</p>
+ * <p>Matrix is saved to channel in compact binary format by {@link #writeTo(WritableByteChannel)} and loaded by {@link #readFrom(ReadableByteChannel)}</p>
  * 
  * @param <E> a child of Number class, used as one cell value
  * @author Kirill Bogatikov
@@ -59,6 +72,21 @@ public class Matrix<E extends Number> {
         this.y = 0;
     }
     
+    /**
+     * Initializes view of given matrix with specified width and height, which has no own storage
+     * <p>It is used only by views of this package, {@link PermutedMatrix} and {@link MatrixView}. They override all methods, which access
+     *    storage directly: {@link #get(int, int)}, {@link #set(int, int, Number)}, {@link #add(Number)}, {@link #copy()}, swapping of rows and
+     *    columns, methods, which change size, {@link #hashCode()} and {@link #equals(Object)}</p>
+     * 
+     * @param source viewed matrix
+     * @param width width of view
+     * @param height height of view
+     */
+    Matrix(Matrix<?> source, int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+    
     /**
      * Returns current matrix's width
      * 
@@ -83,11 +111,10 @@ public class Matrix<E extends Number> {
      * @param y index of row 
      * @return one row from matrix in List<E>
      */
-    @SuppressWarnings("unchecked")
     public List<E> getRow(int y) {
-        ArrayList<E> row = new ArrayList<E>();
+        ArrayList<E> row = new ArrayList<E>(width);
         for(int x = 0; x < width; x++) {
-            row.add((E)mx[x][y]);
+            row.add(get(x, y));
         }
         return row;
     }
@@ -98,15 +125,69 @@ public class Matrix<E extends Number> {
      * @param x index of column 
      * @return one column from matrix in List<E>
      */
-    @SuppressWarnings("unchecked")
     public List<E> getColumn(int x) {
-        ArrayList<E> row = new ArrayList<E>();
+        ArrayList<E> row = new ArrayList<E>(height);
         for(int y = 0; y < height; y++) {
-            row.add((E)mx[x][y]);
+            row.add(get(x, y));
         }
         return row;
     }
     
+    /**
+     * Copies values of one row into given array without allocation of memory
+     * <p>Empty cells are represented by zero</p>
+     * 
+     * @param y index of row
+     * @param row array for values, at least {@link #getWidth()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyRowInto(int y, double[] row) {
+        if(row.length < width) {
+            throw new RuntimeException("Array has not enough items for row: " + row.length + ", " + width + " need");
+        }
+        for(int x = 0; x < width; x++) {
+            Number value = get(x, y);
+            row[x] = value == null ? 0.0 : value.doubleValue();
+        }
+        return row;
+    }
+    
+    /**
+     * Copies values of one column into given array without allocation of memory
+     * <p>Empty cells are represented by zero</p>
+     * 
+     * @param x index of column
+     * @param column array for values, at least {@link #getHeight()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyColumnInto(int x, double[] column) {
+        if(column.length < height) {
+            throw new RuntimeException("Array has not enough items for column: " + column.length + ", " + height + " need");
+        }
+        for(int y = 0; y < height; y++) {
+            Number value = get(x, y);
+            column[y] = value == null ? 0.0 : value.doubleValue();
+        }
+        return column;
+    }
+    
+    /**
+     * Returns cursor over rows of this matrix, which copies each row into one array by {@link #copyRowInto(int, double[])}
+     * 
+     * @return a new cursor before the first row
+     * @see RowCursor
+     */
+    public RowCursor rows() {
+        return new RowCursor(new double[width], width, height) {
+            @Override
+            protected void load(int y) {
+                copyRowInto(y, values);
+            }
+        };
+    }
+    
     /**
      * Returns value stored in cell at x column and y row 
      * 
@@ -231,7 +312,7 @@ public class Matrix<E extends Number> {
     
     /**
      * Returns determinant of this matrix or throw Exception if matrix does not square
-     * <p>This method can calculate matrix's determinant by three algorithms:
+     * <p>This method can calculate matrix's determinant by four algorithms:
      *     <dl>
      *          <dt>Diagonals</dt>
      *          <dd>In 2x2 matrix determinant calculates very simple: a<sub>0, 0</sub> * a<sub>1, 1</sub> - a<sub>1, 0</sub> * a<sub>0, 1</sub></dd>     
@@ -239,38 +320,61 @@ public class Matrix<E extends Number> {
      *          <dd>In 3x3 matrix determinant calculates by triangles method: <a href="https://en.wikipedia.org/wiki/Rule_of_Sarrus">Triangles Rule</a></dd>
      *          <dt>Minors</dt>
      *          <dd>In <i>n</i>x<i>n</i> matrix determinant calculates by formulae <a href="https://en.wikipedia.org/wiki/Determinant">Determinant</a></dd>
+     *          <dt>LU decomposition</dt>
+     *          <dd>In <i>n</i>x<i>n</i> matrix determinant calculates as product of diagonal of upper triangular matrix, 
+     *              see <a href="https://en.wikipedia.org/wiki/LU_decomposition">LU decomposition</a></dd>
      *     </dl>
      * </p>
+     * <p>Algorithm is chosen by size of matrix, see {@link DeterminantMethod#AUTO}</p>
+     * 
      * @return determinant of this matrix
      */
     public Number getDeterminant() {
+        return getDeterminant(DeterminantMethod.AUTO);
+    }
+    
+    /**
+     * Returns determinant of this matrix, calculated by specified algorithm, or throw Exception if matrix does not square
+     * <p>Diagonals and triangles rules are used for 2x2 and 3x3 matrices by {@link DeterminantMethod#AUTO AUTO} and {@link DeterminantMethod#MINORS MINORS}
+     *    methods. {@link DeterminantMethod#LU LU} method always uses decomposition</p>
+     * 
+     * @param method algorithm of calculation
+     * @return determinant of this matrix
+     */
+    public Number getDeterminant(DeterminantMethod method) {
         if(width != height) {
             throw new RuntimeException("Cannot calculate determinant of non-square matrix (" + width + "x" + height + ")");
         }
         
-        if(width == 2) {
-            return mx[0][0].doubleValue() * mx[1][1].doubleValue() - mx[0][1].doubleValue() * mx[1][0].doubleValue();
+        if(method == DeterminantMethod.LU || (method == DeterminantMethod.AUTO && width > 3)) {
+            return DoubleMatrix.create(this).getDeterminant(DeterminantMethod.LU);
         }
         
-        System.err.println(mx[2][0]);
+        if(width == 1) {
+            return get(0, 0).doubleValue();
+        }
+        
+        if(width == 2) {
+            return get(0, 0).doubleValue() * get(1, 1).doubleValue() - get(0, 1).doubleValue() * get(1, 0).doubleValue();
+        }
         
         if(width == 3) {
-            return mx[0][0].doubleValue() * mx[1][1].doubleValue() * mx[2][2].doubleValue() + 
-                   mx[0][2].doubleValue() * mx[1][0].doubleValue() * mx[2][1].doubleValue() + 
-                   mx[0][1].doubleValue() * mx[1][2].doubleValue() * mx[2][0].doubleValue() -
-                   mx[0][2].doubleValue() * mx[1][1].doubleValue() * mx[2][0].doubleValue() -
-                   mx[0][0].doubleValue() * mx[2][1].doubleValue() * mx[1][2].doubleValue() -
-                   mx[1][0].doubleValue() * mx[0][1].doubleValue() * mx[2][2].doubleValue();
+            return get(0, 0).doubleValue() * get(1, 1).doubleValue() * get(2, 2).doubleValue() + 
+                   get(0, 2).doubleValue() * get(1, 0).doubleValue() * get(2, 1).doubleValue() + 
+                   get(0, 1).doubleValue() * get(1, 2).doubleValue() * get(2, 0).doubleValue() -
+                   get(0, 2).doubleValue() * get(1, 1).doubleValue() * get(2, 0).doubleValue() -
+                   get(0, 0).doubleValue() * get(2, 1).doubleValue() * get(1, 2).doubleValue() -
+                   get(1, 0).doubleValue() * get(0, 1).doubleValue() * get(2, 2).doubleValue();
         }
         
         double determ = 0.0, k;
         for(int i = 0; i < width; i++) {
             if(i % 2 == 0) {
-                k = -1;
-            } else {
                 k = 1;
+            } else {
+                k = -1;
             }
-            determ += k * mx[i][0].doubleValue() * getMinorFor(i, 1).doubleValue(); 
+            determ += k * get(i, 0).doubleValue() * getMinorFor(i, 0, method).doubleValue(); 
         }
         
         return determ;
@@ -291,6 +395,112 @@ public class Matrix<E extends Number> {
         return copy;
     }
     
+    /**
+     * Returns product of this matrix and specified matrix
+     * <p>Width of this matrix must be equal to height of other matrix. Product is calculated by {@link DoubleMatrix#multiply(DoubleMatrix)}</p>
+     * 
+     * @param other right multiplier
+     * @return a new instance of Matrix, containing product of matrices
+     * @throws RuntimeException if width of this matrix does not equal to height of other matrix
+     */
+    public Matrix<Double> multiply(Matrix<? extends Number> other) {
+        return DoubleMatrix.create(this).multiply(DoubleMatrix.create(other)).toMatrix();
+    }
+    
+    /**
+     * Returns sum of this matrix and specified matrix
+     * 
+     * @param other matrix with the same width and height
+     * @return a new instance of Matrix, containing sum of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public Matrix<Double> add(Matrix<? extends Number> other) {
+        return DoubleMatrix.create(this).add(DoubleMatrix.create(other)).toMatrix();
+    }
+    
+    /**
+     * Returns difference of this matrix and specified matrix
+     * 
+     * @param other matrix with the same width and height
+     * @return a new instance of Matrix, containing difference of matrices
+     * @throws RuntimeException if matrices have different sizes
+     */
+    public Matrix<Double> subtract(Matrix<? extends Number> other) {
+        return DoubleMatrix.create(this).subtract(DoubleMatrix.create(other)).toMatrix();
+    }
+    
+    /**
+     * Returns this matrix, multiplied by specified number
+     * 
+     * @param k multiplier
+     * @return a new instance of Matrix, containing each cell of this matrix, multiplied by <code>k</code>
+     */
+    public Matrix<Double> scale(double k) {
+        return DoubleMatrix.create(this).scale(k).toMatrix();
+    }
+    
+    /**
+     * Returns transposed matrix: rows of this matrix become columns of result
+     * <p>Values are not converted, so result contains the same objects as this matrix</p>
+     * 
+     * @return a new instance of Matrix, containing transposed matrix
+     */
+    public Matrix<E> transpose() {
+        Matrix<E> transposed = new Matrix<E>(height, width);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                transposed.mx[y][x] = get(x, y);
+            }
+        }
+        return transposed;
+    }
+    
+    /**
+     * Swaps two rows of this matrix
+     * <p>Matrix stores values by columns, so this method needs <i>O(width)</i> operations. If rows are swapped many times, use
+     *    view, returned by {@link #permuteRows()}: it swaps rows in constant time</p>
+     * 
+     * @param a index of first row
+     * @param b index of second row
+     * @return pointer to this Matrix
+     */
+    public Matrix<E> swapRows(int a, int b) {
+        if(a != b) {
+            for(int x = 0; x < width; x++) {
+                Number t = mx[x][a];
+                mx[x][a] = mx[x][b];
+                mx[x][b] = t;
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Swaps two columns of this matrix
+     * <p>Matrix stores values by columns, so only references to columns are swapped, in constant time</p>
+     * 
+     * @param a index of first column
+     * @param b index of second column
+     * @return pointer to this Matrix
+     */
+    public Matrix<E> swapColumns(int a, int b) {
+        Number[] t = mx[a];
+        mx[a] = mx[b];
+        mx[b] = t;
+        return this;
+    }
+    
+    /**
+     * Returns view of this matrix with logical order of rows
+     * <p>View shares cells with this matrix: changes of cells are visible in both matrices. Rows of view are swapped by {@link PermutedMatrix#swapRows(int, int)}
+     *    in constant time and do not move in this matrix</p>
+     * 
+     * @return a new view of this matrix with identity order of rows
+     */
+    public PermutedMatrix<E> permuteRows() {
+        return new PermutedMatrix<E>(this);
+    }
+    
     /**
      * Shifts all columns after specified index to left on one column
      * <p>Native matrix does not cut, but width field will be decreased by 1</p>
@@ -325,16 +535,217 @@ public class Matrix<E extends Number> {
     
     /**
      * Returns addition minor for specified cell
-     * <p>Minor is a determinant of matrix without column and row of specified cell</p>
+     * <p>Minor is a determinant of matrix without column and row of specified cell. It is calculated over {@link MinorMatrix} view, so cells
+     *    are not copied</p>
      * 
      * @param x column of specified cell
      * @param y row of specified cell
      * @return return determinant of 
      */
     public Number getMinorFor(int x, int y) {
-        Matrix<E> mtx = copy();
-        mtx.strikeOutColumn(x).strikeOutRow(y);
-        return mtx.getDeterminant();
+        return getMinorFor(x, y, DeterminantMethod.AUTO);
+    }
+    
+    /**
+     * Returns addition minor for specified cell, calculated by specified algorithm
+     * 
+     * @param x column of specified cell
+     * @param y row of specified cell
+     * @param method algorithm of calculation of minor's determinant
+     * @return return determinant of matrix without column and row of specified cell
+     */
+    public Number getMinorFor(int x, int y, DeterminantMethod method) {
+        return new MinorMatrix<E>(this, x, y).getDeterminant(method);
+    }
+    
+    /**
+     * Returns read-only view of block of this matrix, see {@link SubMatrix}
+     * 
+     * @param left index of first column of block
+     * @param top index of first row of block
+     * @param width width of block
+     * @param height height of block
+     * @return a new view of this matrix
+     * @throws RuntimeException if block is empty or does not fit into this matrix
+     */
+    public SubMatrix<E> subMatrix(int left, int top, int width, int height) {
+        return new SubMatrix<E>(this, left, top, width, height);
+    }
+    
+    /**
+     * Returns read-only view of this matrix without column and row of specified cell, see {@link MinorMatrix}
+     * 
+     * @param x column of specified cell
+     * @param y row of specified cell
+     * @return a new view of this matrix
+     * @throws RuntimeException if matrix has only one column or row, or cell is out of its bounds
+     */
+    public MinorMatrix<E> minorMatrix(int x, int y) {
+        return new MinorMatrix<E>(this, x, y);
+    }
+    
+    /**
+     * Returns read-only transposed view of this matrix, see {@link TransposedMatrix}
+     * <p>Unlike {@link #transpose()} it does not copy cells, and changes of this matrix are visible in view</p>
+     * 
+     * @return a new view of this matrix
+     */
+    public TransposedMatrix<E> transposedView() {
+        return new TransposedMatrix<E>(this);
+    }
+    
+    /**
+     * Returns inverse of this matrix: <code>A<sup>-1</sup></code>, such that <code>A &#215; A<sup>-1</sup> = I</code>
+     * <p>Inverse is calculated over primitive matrix in <i>O(n<sup>3</sup>)</i> operations, see {@link DoubleMatrix#inverse()}.
+     *    Matrix returns inverse of {@link Double} values, {@link FractionsMatrix} returns exact inverse of fractions</p>
+     * 
+     * @return a new instance of Matrix, containing inverse matrix
+     * @throws RuntimeException if matrix does not square or is singular
+     */
+    public Matrix<? extends Number> inverse() {
+        return inverse(new Matrix<Double>(width, height));
+    }
+    
+    /**
+     * Calculates inverse of this matrix into given matrix, see {@link #inverse()}
+     * 
+     * @param result matrix with the same size as this one for inverse matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or is singular, or result matrix has other size
+     */
+    public Matrix<Double> inverse(Matrix<Double> result) {
+        checkResultSize(result);
+        return copyInto(DoubleMatrix.create(this).inverse(), result);
+    }
+    
+    /**
+     * Returns adjugate of this matrix: transposed matrix of cofactors, <code>adj(A) = det(A) &#215; A<sup>-1</sup></code>
+     * <p>Adjugate is calculated over primitive matrix, see {@link DoubleMatrix#adjugate()}.
+     *    Matrix returns adjugate of {@link Double} values, {@link FractionsMatrix} returns exact adjugate of fractions</p>
+     * 
+     * @return a new instance of Matrix, containing adjugate matrix
+     * @throws RuntimeException if matrix does not square
+     */
+    public Matrix<? extends Number> adjugate() {
+        return adjugate(new Matrix<Double>(width, height));
+    }
+    
+    /**
+     * Calculates adjugate of this matrix into given matrix, see {@link #adjugate()}
+     * 
+     * @param result matrix with the same size as this one for adjugate matrix
+     * @return given result matrix
+     * @throws RuntimeException if matrix does not square or result matrix has other size
+     */
+    public Matrix<Double> adjugate(Matrix<Double> result) {
+        checkResultSize(result);
+        return copyInto(DoubleMatrix.create(this).adjugate(), result);
+    }
+    
+    void checkResultSize(Matrix<?> result) {
+        if(width != height) {
+            throw new RuntimeException("Cannot invert non-square matrix (" + width + "x" + height + ")");
+        }
+        if(result.width != width || result.height != height) {
+            throw new RuntimeException("Result matrix must be " + width + "x" + height + ", but it is " + result.width + "x" + result.height);
+        }
+    }
+    
+    private static Matrix<Double> copyInto(DoubleMatrix source, Matrix<Double> result) {
+        for(int y = 0; y < source.height; y++) {
+            for(int x = 0; x < source.width; x++) {
+                result.set(x, y, source.data[y * source.stride + x]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Writes this matrix to channel in binary format
+     * <p>Format contains header with width, height, type of cells and layout, and cells as little-endian values. Cells of Matrix are written
+     *    as <code>double</code> values, empty cells are zeros; {@link FractionsMatrix} writes exact numerators and denominators. If less than
+     *    a half of cells are non-zero, only non-zero cells are written with their columns and rows (sparse layout).
+     *    Cells are collected in one direct buffer, so writing does not create objects for each cell</p>
+     * <p>The same format is used by {@link DoubleMatrix#writeTo(WritableByteChannel)} and {@link SparseMatrix#writeTo(WritableByteChannel)},
+     *    so matrix can be written by one class and read by another</p>
+     * 
+     * @param channel destination channel, it is not closed
+     * @throws IOException if channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        write(channel, MatrixFormat.DOUBLE);
+    }
+    
+    void write(WritableByteChannel channel, byte type) throws IOException {
+        long nonZero = 0;
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                if(!isZero(get(x, y))) {
+                    nonZero++;
+                }
+            }
+        }
+        
+        MatrixFormat format = MatrixFormat.writer(channel, type, width, height, nonZero);
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                Number value = get(x, y);
+                if(!format.isSparse()) {
+                    format.putCell(value);
+                } else if(!isZero(value)) {
+                    format.putEntry(x, y);
+                    format.putCell(value);
+                }
+            }
+        }
+        format.finish();
+    }
+    
+    private static boolean isZero(Number value) {
+        if(value instanceof Fraction) {
+            return ((Fraction)value).signum() == 0;
+        }
+        return value == null || value.doubleValue() == 0.0;
+    }
+    
+    /**
+     * Reads matrix, written by {@link #writeTo(WritableByteChannel)}, from channel
+     * <p>Matrix of fractions is returned as {@link FractionsMatrix}, any other matrix is returned as Matrix of {@link Double} values.
+     *    Only bytes of one matrix are read, so channel can contain several matrices one by one</p>
+     * 
+     * @param channel blocking source channel, it is not closed
+     * @return a new instance of Matrix
+     * @throws IOException if channel cannot be read
+     * @throws RuntimeException if channel does not contain matrix or its data is damaged
+     */
+    public static Matrix<? extends Number> readFrom(ReadableByteChannel channel) throws IOException {
+        MatrixFormat format = MatrixFormat.reader(channel);
+        if(format.getType() == MatrixFormat.FRACTION) {
+            return read(format, new FractionsMatrix(format.getWidth(), format.getHeight()));
+        }
+        return read(format, new Matrix<Double>(format.getWidth(), format.getHeight()));
+    }
+    
+    static <M extends Matrix<?>> M read(MatrixFormat format, M matrix) throws IOException {
+        boolean fractions = matrix instanceof FractionsMatrix;
+        Number[][] mx = matrix.mx;
+        if(format.isSparse()) {
+            Number zero = fractions ? Fraction.ZERO : (Number)Double.valueOf(0.0);
+            for(Number[] column : mx) {
+                Arrays.fill(column, zero);
+            }
+            for(long i = 0; i < format.getCount(); i++) {
+                format.nextEntry();
+                mx[format.getX()][format.getY()] = fractions ? format.getFraction() : (Number)format.getDouble();
+            }
+        } else {
+            for(int y = 0; y < matrix.height; y++) {
+                for(int x = 0; x < matrix.width; x++) {
+                    mx[x][y] = fractions ? format.getFraction() : (Number)format.getDouble();
+                }
+            }
+        }
+        return matrix;
     }
     
     @Override
@@ -355,9 +766,9 @@ public class Matrix<E extends Number> {
         StringBuilder builder = new StringBuilder();
         for(int y = 0; y < height; y++) {
             for(int x = 0; x < width - 1; x++) {
-                builder.append(mx[x][y]).append(" ");
+                builder.append(get(x, y)).append(" ");
             }
-            builder.append(mx[width - 1][y]).append("\n");
+            builder.append(get(width - 1, y)).append("\n");
         }
         return builder.toString();
     }
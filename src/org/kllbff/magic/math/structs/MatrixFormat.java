@@ -0,0 +1,275 @@
+package org.kllbff.magic.math.structs;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/*
+ * Binary format of matrices, shared by writeTo and readFrom methods of all matrices. All numbers are little-endian.
+ * Header (24 bytes): int magic, byte version, byte type, byte layout, byte reserved, int width, int height, long count.
+ * Dense layout contains count = width * height cells, row by row; sparse layout contains count entries (int x, int y, cell),
+ * sorted by row and column. DOUBLE cell is one double. FRACTION cell is long numerator and long denominator; fraction, which
+ * does not fit into longs, is written as long with lengths of numerator and denominator (high and low halves), zero long and
+ * two's-complement bytes of numerator and denominator.
+ * Reader takes from channel only bytes of its matrix, so several matrices can be read from one channel one by one
+ */
+final class MatrixFormat {
+    static final byte DOUBLE = 1, FRACTION = 2;
+    static final byte DENSE = 0, SPARSE = 1;
+    private static final int MAGIC = 0x584d4d31;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ByteBuffer buffer;
+    private WritableByteChannel out;
+    private ReadableByteChannel in;
+    /* count of bytes of matrix, which are not read from channel yet */
+    private long pending;
+    private byte type, layout;
+    private int width, height;
+    private long count;
+    private int x, y;
+
+    private MatrixFormat() {
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /* chooses sparse layout, if it is smaller than dense one */
+    static MatrixFormat writer(WritableByteChannel channel, byte type, int width, int height, long nonZero) throws IOException {
+        MatrixFormat format = new MatrixFormat();
+        format.out = channel;
+        format.type = type;
+        format.width = width;
+        format.height = height;
+
+        long cells = (long)width * height;
+        int cell = format.getCellSize();
+        format.layout = nonZero * (cell + 8) < cells * cell ? SPARSE : DENSE;
+        format.count = format.layout == SPARSE ? nonZero : cells;
+
+        ByteBuffer buffer = format.buffer;
+        buffer.putInt(MAGIC).put(VERSION).put(type).put(format.layout).put((byte)0);
+        buffer.putInt(width).putInt(height).putLong(format.count);
+        return format;
+    }
+
+    static MatrixFormat reader(ReadableByteChannel channel) throws IOException {
+        MatrixFormat format = new MatrixFormat();
+        format.in = channel;
+        format.pending = HEADER_SIZE;
+        format.buffer.flip();
+        format.require(HEADER_SIZE);
+
+        ByteBuffer buffer = format.buffer;
+        if(buffer.getInt() != MAGIC) {
+            throw new RuntimeException("Channel does not contain matrix");
+        }
+        byte version = buffer.get();
+        if(version != VERSION) {
+            throw new RuntimeException("Unsupported version of matrix format: " + version);
+        }
+        format.type = buffer.get();
+        format.layout = buffer.get();
+        buffer.get();
+        format.width = buffer.getInt();
+        format.height = buffer.getInt();
+        format.count = buffer.getLong();
+
+        if(format.type != DOUBLE && format.type != FRACTION) {
+            throw new RuntimeException("Unknown type of matrix cells: " + format.type);
+        }
+        if(format.layout != DENSE && format.layout != SPARSE) {
+            throw new RuntimeException("Unknown layout of matrix: " + format.layout);
+        }
+        if(format.width < 1 || format.height < 1) {
+            throw new RuntimeException("Wrong size of matrix: " + format.width + "x" + format.height);
+        }
+        long cells = (long)format.width * format.height;
+        if(format.count < 0 || format.count > cells || (format.layout == DENSE && format.count != cells)) {
+            throw new RuntimeException("Wrong count of cells for matrix " + format.width + "x" + format.height + ": " + format.count);
+        }
+        format.pending = format.count * (format.getCellSize() + (format.layout == SPARSE ? 8 : 0));
+        format.y = -1;
+        return format;
+    }
+
+    private int getCellSize() {
+        return type == DOUBLE ? Double.BYTES : 2 * Long.BYTES;
+    }
+
+    byte getType() {
+        return type;
+    }
+
+    boolean isSparse() {
+        return layout == SPARSE;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /* column and row of last entry, read by nextEntry */
+    int getX() {
+        return x;
+    }
+
+    int getY() {
+        return y;
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if(buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    void finish() throws IOException {
+        drain();
+    }
+
+    /* reads from channel, until buffer contains specified count of bytes; channel must be blocking */
+    private void require(int bytes) throws IOException {
+        if(buffer.remaining() >= bytes) {
+            return;
+        }
+        if(buffer.remaining() + pending < bytes) {
+            throw new RuntimeException("Matrix data is damaged: cell is longer than matrix");
+        }
+        buffer.compact();
+        while(buffer.position() < bytes) {
+            buffer.limit((int)Math.min(buffer.capacity(), buffer.position() + pending));
+            int read = in.read(buffer);
+            if(read < 0) {
+                throw new RuntimeException("Unexpected end of matrix data");
+            }
+            pending -= read;
+        }
+        buffer.flip();
+    }
+
+    void putEntry(int x, int y) throws IOException {
+        reserve(8);
+        buffer.putInt(x).putInt(y);
+    }
+
+    void nextEntry() throws IOException {
+        require(8);
+        int x = buffer.getInt(), y = buffer.getInt();
+        if(x < 0 || x >= width || y < 0 || y >= height) {
+            throw new RuntimeException("Cell (" + x + ", " + y + ") is out of matrix " + width + "x" + height);
+        }
+        if(y < this.y || (y == this.y && x <= this.x)) {
+            throw new RuntimeException("Cells of sparse matrix are not sorted: (" + x + ", " + y + ") after (" + this.x + ", " + this.y + ")");
+        }
+        this.x = x;
+        this.y = y;
+    }
+
+    void putDouble(double value) throws IOException {
+        reserve(8);
+        buffer.putDouble(value);
+    }
+
+    /* writes cell of matrix's type; empty cell is zero */
+    void putCell(Number value) throws IOException {
+        if(type == DOUBLE) {
+            putDouble(value == null ? 0.0 : value.doubleValue());
+        } else {
+            putFraction(value == null ? null : Fraction.create(value));
+        }
+    }
+
+    private void putFraction(Fraction value) throws IOException {
+        reserve(16);
+        if(value == null) {
+            buffer.putLong(0).putLong(1);
+        } else if(value.isBig()) {
+            byte[] n = value.getBigNumerator().toByteArray(), d = value.getBigDenominator().toByteArray();
+            buffer.putLong(((long)n.length << 32) | d.length).putLong(0);
+            putBytes(n);
+            putBytes(d);
+        } else {
+            buffer.putLong(value.getNumerator()).putLong(value.getDenominator());
+        }
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        for(int offset = 0; offset < bytes.length;) {
+            if(!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private byte[] getBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        for(int offset = 0; offset < length;) {
+            int part = Math.min(BUFFER_SIZE, length - offset);
+            require(part);
+            buffer.get(bytes, offset, part);
+            offset += part;
+        }
+        return bytes;
+    }
+
+    /* reads cell as double value, fractions are divided */
+    double getDouble() throws IOException {
+        if(type == DOUBLE) {
+            require(8);
+            return buffer.getDouble();
+        }
+        require(16);
+        long n = buffer.getLong(), d = buffer.getLong();
+        if(d != 0) {
+            return (double)n / d;
+        }
+        return getBigFraction(n).doubleValue();
+    }
+
+    /* reads cell as fraction, doubles are converted by Fraction.create */
+    Fraction getFraction() throws IOException {
+        if(type == DOUBLE) {
+            require(8);
+            return Fraction.create(buffer.getDouble());
+        }
+        require(16);
+        long n = buffer.getLong(), d = buffer.getLong();
+        if(d != 0) {
+            return Fraction.valueOf(n, d);
+        }
+        return getBigFraction(n);
+    }
+
+    private Fraction getBigFraction(long lengths) throws IOException {
+        int numerator = (int)(lengths >>> 32), denominator = (int)lengths;
+        if(numerator < 1 || denominator < 1) {
+            throw new RuntimeException("Matrix data is damaged: wrong lengths of fraction " + numerator + ", " + denominator);
+        }
+        pending += (long)numerator + denominator;
+        return new Fraction(new BigInteger(getBytes(numerator)), new BigInteger(getBytes(denominator)));
+    }
+}
@@ -0,0 +1,443 @@
+package org.kllbff.magic.math.structs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * <h3>Reads matrices from text row by row</h3>
+ * <p>Each line of text is one row of matrix. Cells are separated by spaces, tabs, commas or semicolons, so both whitespace dumps and CSV files
+ *    are accepted; empty lines are skipped. Cell is decimal number, such as <code>-12</code>, <code>0.125</code> or <code>6.02e23</code>,
+ *    or ratio of two numbers, such as <code>1/3</code>. All rows must have the same count of cells</p>
+ * <p>Text is read by chunks into one buffer, and numbers are parsed directly from it, without creating {@link String} objects:
+ *     <ul>
+ *          <li>{@link #nextRow(double[])} and {@link #readDoubleMatrix()} return correctly rounded <code>double</code> values;</li>
+ *          <li>{@link #nextRow(Fraction[])} and {@link #readFractionsMatrix()} return exact fractions: <code>0.1</code> is <code>1/10</code>,
+ *              unlike {@link Fraction#create(Number)} of <code>double</code> value.</li>
+ *     </ul>
+ *    Numbers with more than 18 significant digits are parsed by {@link Double#parseDouble(String)} and {@link BigDecimal}</p>
+ * <p>Rows are returned as soon as they are read, so they can be processed while the rest of text is loading:
+ *    <pre>
+ *    try(MatrixParser parser = new MatrixParser(input)) {
+ *        Fraction[] row = new Fraction[capacity];
+ *        while(parser.nextRow(row)) {
+ *            gauss.add(row);
+ *        }
+ *    }
+ *    </pre>
+ * </p>
+ * <p>{@link InputStream} is read as ASCII bytes, {@link Reader} is used for any other encoding</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class MatrixParser implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    /* significant digits, which always fit into long */
+    private static final int MAX_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+    /* powers of ten, which are exact doubles */
+    private static final double[] EXACT_POWERS = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for(int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        EXACT_POWERS[0] = 1;
+        for(int i = 1; i < EXACT_POWERS.length; i++) {
+            EXACT_POWERS[i] = EXACT_POWERS[i - 1] * 10;
+        }
+    }
+
+    private InputStream input;
+    private Reader reader;
+    private byte[] bytes;
+    private char[] chars;
+    private int position, limit;
+
+    /* characters of current cell: numerator at 0..slash, denominator after slash if slash is not -1 */
+    private char[] token = new char[64];
+    private int length, slash;
+    /* parsed number: (negative ? -1 : 1) * mantissa * 10^exponent; inexact if it has too many digits for mantissa */
+    private boolean negative, inexact;
+    private long mantissa;
+    private int exponent;
+
+    private double[] values = new double[16];
+    private Fraction[] fractions = new Fraction[16];
+    private int width, rows;
+
+    /**
+     * Initializes parser of ASCII text from given stream
+     *
+     * @param input source of text
+     */
+    public MatrixParser(InputStream input) {
+        this.input = input;
+        this.bytes = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Initializes parser of text from given reader
+     *
+     * @param reader source of text
+     */
+    public MatrixParser(Reader reader) {
+        this.reader = reader;
+        this.chars = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Returns count of cells in each row or zero if no rows are read yet
+     *
+     * @return width of matrix
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns count of rows, which are already read
+     *
+     * @return count of read rows
+     */
+    public int getRowsCount() {
+        return rows;
+    }
+
+    private boolean fill() throws IOException {
+        int read = input != null ? input.read(bytes) : reader.read(chars);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    /* returns next character without consuming or -1 at end of text */
+    private int peek() throws IOException {
+        if(position == limit && !fill()) {
+            return -1;
+        }
+        return bytes != null ? bytes[position] & 0xff : chars[position];
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == '\t' || c == ',' || c == ';' || c == '\r';
+    }
+
+    private static boolean isCellEnd(int c) {
+        return c == '\n' || isSeparator(c);
+    }
+
+    /* reads characters of cell into token, until separator, end of line or end of text; each chunk of buffer is scanned by one loop */
+    private void readToken() throws IOException {
+        length = 0;
+        slash = -1;
+        while(position < limit || fill()) {
+            int end = position;
+            if(bytes != null) {
+                while(end < limit && !isCellEnd(bytes[end])) {
+                    end++;
+                }
+            } else {
+                while(end < limit && !isCellEnd(chars[end])) {
+                    end++;
+                }
+            }
+
+            if(length + end - position > token.length) {
+                token = Arrays.copyOf(token, Math.max(token.length * 2, length + end - position));
+            }
+            for(int i = position; i < end; i++) {
+                char c = bytes != null ? (char)(bytes[i] & 0xff) : chars[i];
+                if(c == '/' && slash == -1) {
+                    slash = length;
+                }
+                token[length++] = c;
+            }
+            position = end;
+            if(end < limit) {
+                return;
+            }
+        }
+    }
+
+    /* reads cells of next non-empty row into values or fractions; returns count of cells or -1 at end of text */
+    private int parseRow(boolean exact) throws IOException {
+        int count = 0;
+        while(true) {
+            int c = peek();
+            if(c == -1) {
+                if(count == 0) {
+                    return -1;
+                }
+                break;
+            }
+            if(c == '\n') {
+                position++;
+                if(count == 0) {
+                    continue;
+                }
+                break;
+            }
+            if(isSeparator(c)) {
+                position++;
+                continue;
+            }
+
+            readToken();
+            if(exact) {
+                if(count == fractions.length) {
+                    fractions = Arrays.copyOf(fractions, count * 2);
+                }
+                fractions[count++] = toFraction();
+            } else {
+                if(count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = toDouble();
+            }
+        }
+
+        if(width == 0) {
+            width = count;
+        } else if(count != width) {
+            throw new RuntimeException("Row " + (rows + 1) + " has " + count + " cells, but previous rows have " + width);
+        }
+        rows++;
+        return count;
+    }
+
+    /* parses decimal number at from..to of token into sign, mantissa and exponent */
+    private void parseNumber(int from, int to) {
+        int i = from;
+        negative = false;
+        if(i < to && (token[i] == '-' || token[i] == '+')) {
+            negative = token[i] == '-';
+            i++;
+        }
+
+        mantissa = 0;
+        exponent = 0;
+        inexact = false;
+        int digits = 0, significant = 0;
+        boolean point = false;
+        for(; i < to; i++) {
+            char c = token[i];
+            if(c >= '0' && c <= '9') {
+                digits++;
+                if(significant < MAX_DIGITS) {
+                    if(mantissa != 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        significant++;
+                    }
+                    if(point) {
+                        exponent--;
+                    }
+                } else {
+                    inexact |= c != '0';
+                    if(!point) {
+                        exponent++;
+                    }
+                }
+            } else if(c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if(digits == 0) {
+            throw wrongNumber(from, to);
+        }
+
+        if(i < to && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean minus = false;
+            if(i < to && (token[i] == '-' || token[i] == '+')) {
+                minus = token[i] == '-';
+                i++;
+            }
+            int power = 0, start = i;
+            for(; i < to && token[i] >= '0' && token[i] <= '9'; i++) {
+                power = Math.min(power * 10 + (token[i] - '0'), 100_000);
+            }
+            if(i == start) {
+                throw wrongNumber(from, to);
+            }
+            exponent += minus ? -power : power;
+        }
+        if(i != to) {
+            throw wrongNumber(from, to);
+        }
+    }
+
+    private RuntimeException wrongNumber(int from, int to) {
+        return new RuntimeException("Wrong number '" + new String(token, from, to - from) + "' in row " + (rows + 1));
+    }
+
+    private double parseDouble(int from, int to) {
+        parseNumber(from, to);
+        if(mantissa == 0 && !inexact) {
+            return negative ? -0.0 : 0.0;
+        }
+        /* both mantissa and power of ten are exact doubles, so one multiplication or division is rounded correctly */
+        if(!inexact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / EXACT_POWERS[-exponent] : mantissa * EXACT_POWERS[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(token, from, to - from));
+    }
+
+    private double toDouble() {
+        if(slash == -1) {
+            return parseDouble(0, length);
+        }
+        return parseDouble(0, slash) / parseDouble(slash + 1, length);
+    }
+
+    private Fraction parseFraction(int from, int to) {
+        parseNumber(from, to);
+        if(!inexact) {
+            long n = negative ? -mantissa : mantissa;
+            if(exponent <= 0 && -exponent <= MAX_DIGITS) {
+                return Fraction.valueOf(n, POWERS_OF_TEN[-exponent]);
+            }
+            if(exponent > 0 && exponent <= MAX_DIGITS && Math.abs(n) <= Long.MAX_VALUE / POWERS_OF_TEN[exponent]) {
+                return Fraction.valueOf(n * POWERS_OF_TEN[exponent]);
+            }
+        }
+
+        BigDecimal value = new BigDecimal(token, from, to - from);
+        if(value.scale() > 0) {
+            return new Fraction(value.unscaledValue(), BigInteger.TEN.pow(value.scale()));
+        }
+        return new Fraction(value.unscaledValue().multiply(BigInteger.TEN.pow(-value.scale())), BigInteger.ONE);
+    }
+
+    private Fraction toFraction() {
+        if(slash == -1) {
+            return parseFraction(0, length);
+        }
+        Fraction numerator = parseFraction(0, slash);
+        Fraction denominator = parseFraction(slash + 1, length);
+        if(!numerator.isBig() && !denominator.isBig() && numerator.getDenominator() == 1 && denominator.getDenominator() == 1) {
+            return Fraction.valueOf(numerator.getNumerator(), denominator.getNumerator());
+        }
+        return numerator.div(denominator);
+    }
+
+    /**
+     * Reads next row of <code>double</code> values into given array
+     *
+     * @param row array for values, must have at least as many items as cells in row
+     * @return true if row is read or false at end of text
+     * @throws IOException if text cannot be read
+     * @throws RuntimeException if row contains wrong number, has more cells than array or other count of cells than previous rows
+     */
+    public boolean nextRow(double[] row) throws IOException {
+        int count = parseRow(false);
+        if(count == -1) {
+            return false;
+        }
+        if(count > row.length) {
+            throw new RuntimeException("Row " + rows + " has " + count + " cells, but array has place only for " + row.length);
+        }
+        System.arraycopy(values, 0, row, 0, count);
+        return true;
+    }
+
+    /**
+     * Reads next row of exact fractions into given array
+     *
+     * @param row array for values, must have at least as many items as cells in row
+     * @return true if row is read or false at end of text
+     * @throws IOException if text cannot be read
+     * @throws RuntimeException if row contains wrong number, has more cells than array or other count of cells than previous rows
+     */
+    public boolean nextRow(Fraction[] row) throws IOException {
+        int count = parseRow(true);
+        if(count == -1) {
+            return false;
+        }
+        if(count > row.length) {
+            throw new RuntimeException("Row " + rows + " has " + count + " cells, but array has place only for " + row.length);
+        }
+        System.arraycopy(fractions, 0, row, 0, count);
+        return true;
+    }
+
+    /**
+     * Reads all remaining rows into a new primitive matrix
+     *
+     * @return a new instance of DoubleMatrix
+     * @throws IOException if text cannot be read
+     * @throws RuntimeException if text has no rows, contains wrong number or rows have different count of cells
+     */
+    public DoubleMatrix readDoubleMatrix() throws IOException {
+        double[] cells = new double[1024];
+        int height = 0, count;
+        while((count = parseRow(false)) != -1) {
+            if((height + 1) * count > cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(cells.length * 2, (height + 1) * count));
+            }
+            System.arraycopy(values, 0, cells, height * count, count);
+            height++;
+        }
+        if(height == 0) {
+            throw new RuntimeException("Text does not contain any rows");
+        }
+
+        DoubleMatrix matrix = new DoubleMatrix(width, 1);
+        matrix.data = cells;
+        matrix.height = height;
+        return matrix;
+    }
+
+    /**
+     * Reads all remaining rows into a new matrix of exact fractions
+     *
+     * @return a new instance of FractionsMatrix
+     * @throws IOException if text cannot be read
+     * @throws RuntimeException if text has no rows, contains wrong number or rows have different count of cells
+     */
+    public FractionsMatrix readFractionsMatrix() throws IOException {
+        Fraction[][] cells = new Fraction[16][];
+        int height = 0, count;
+        while((count = parseRow(true)) != -1) {
+            if(height == cells.length) {
+                cells = Arrays.copyOf(cells, height * 2);
+            }
+            cells[height++] = Arrays.copyOf(fractions, count);
+        }
+        if(height == 0) {
+            throw new RuntimeException("Text does not contain any rows");
+        }
+
+        FractionsMatrix matrix = new FractionsMatrix(width, height);
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                matrix.mx[x][y] = cells[y][x];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Closes source of text
+     *
+     * @throws IOException if source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if(input != null) {
+            input.close();
+        } else {
+            reader.close();
+        }
+    }
+}
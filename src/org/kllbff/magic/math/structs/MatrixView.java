@@ -0,0 +1,179 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents read-only view of other matrix</h3>
+ * <p>View has no own storage: {@link #get(int, int)} maps cell of view to cell of source matrix, so view is created in constant or linear time
+ *    and changes of source matrix are visible in view. View can be used anywhere {@link Matrix} is accepted: determinant, minors, arithmetic
+ *    operations and binary format read cells through {@link #get(int, int)}</p>
+ * <p>View cannot be changed: {@link #set(int, int, Number)}, {@link #add(Number)}, swapping of rows and columns and all methods, which change
+ *    size, throw {@link UnsupportedOperationException}. Use {@link #copy()} to get independent matrix</p>
+ * <p>If source is {@link FractionsMatrix}, determinant, minors, {@link #inverse()} and {@link #adjugate()} of view are calculated over
+ *    {@link Fraction} values as in source, and {@link #transpose()} returns {@link FractionsMatrix}, as {@link #copy()}</p>
+ *
+ * @param <E> a child of Number class, used as one cell value
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ * @see SubMatrix
+ * @see MinorMatrix
+ * @see TransposedMatrix
+ */
+public abstract class MatrixView<E extends Number> extends Matrix<E> {
+    protected final Matrix<E> source;
+    private final boolean fractions;
+
+    /**
+     * Initializes view of given matrix with specified width and height
+     *
+     * @param source viewed matrix
+     * @param width width of view
+     * @param height height of view
+     * @throws RuntimeException if width or height less than 1
+     */
+    protected MatrixView(Matrix<E> source, int width, int height) {
+        super(source, width, height);
+        if(width < 1 || height < 1) {
+            throw new RuntimeException("View cannot be empty (" + width + "x" + height + ")");
+        }
+
+        this.source = source;
+        this.fractions = isFractions(source);
+    }
+
+    private static boolean isFractions(Matrix<?> matrix) {
+        if(matrix instanceof MatrixView) {
+            return ((MatrixView<?>)matrix).fractions;
+        }
+        if(matrix instanceof PermutedMatrix) {
+            return isFractions(((PermutedMatrix<?>)matrix).getSource());
+        }
+        return matrix instanceof FractionsMatrix;
+    }
+
+    /**
+     * Returns viewed matrix
+     *
+     * @return viewed matrix
+     */
+    public Matrix<E> getSource() {
+        return source;
+    }
+
+    @Override
+    public abstract E get(int x, int y);
+
+    @Override
+    public Matrix<E> set(int x, int y, E val) {
+        throw new UnsupportedOperationException("Cannot change read-only view of matrix");
+    }
+
+    @Override
+    public Matrix<E> add(E val) {
+        throw new UnsupportedOperationException("Cannot change read-only view of matrix");
+    }
+
+    @Override
+    public Matrix<E> swapRows(int a, int b) {
+        throw new UnsupportedOperationException("Cannot change read-only view of matrix");
+    }
+
+    @Override
+    public Matrix<E> swapColumns(int a, int b) {
+        throw new UnsupportedOperationException("Cannot change read-only view of matrix");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Matrix<E> insertRow(int y, E... row) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Matrix<E> insertColumn(int x, E... column) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> addColumns(int count) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> addRows(int count) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> strikeOutColumn(int column) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> strikeOutRow(int row) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    /**
+     * Returns a new matrix, containing all values of this view: {@link FractionsMatrix} if source contains fractions, otherwise {@link Matrix}
+     *
+     * @return a new instance of Matrix
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Matrix<E> copy() {
+        Matrix<E> copy = fractions ? (Matrix<E>)new FractionsMatrix(width, height) : new Matrix<E>(width, height);
+        for(int x = 0; x < width; x++) {
+            for(int y = 0; y < height; y++) {
+                copy.mx[x][y] = get(x, y);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Number getDeterminant(DeterminantMethod method) {
+        if(fractions) {
+            return FractionsMatrix.determinant((Matrix<Fraction>)this, method);
+        }
+        return super.getDeterminant(method);
+    }
+
+    @Override
+    public Matrix<E> transpose() {
+        if(fractions) {
+            return copy().transpose();
+        }
+        return super.transpose();
+    }
+
+    @Override
+    public Matrix<? extends Number> inverse() {
+        if(fractions) {
+            return copy().inverse();
+        }
+        return super.inverse();
+    }
+
+    @Override
+    public Matrix<? extends Number> adjugate() {
+        if(fractions) {
+            return copy().adjugate();
+        }
+        return super.adjugate();
+    }
+
+    @Override
+    public int hashCode() {
+        return copy().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return copy().equals(((MatrixView<?>)obj).copy());
+    }
+}
@@ -0,0 +1,52 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents read-only view of matrix without one column and one row</h3>
+ * <p>View does not copy cells and does not shift them as {@link Matrix#strikeOutColumn(int)} and {@link Matrix#strikeOutRow(int)} do:
+ *    columns and rows of view are mapped to columns and rows of source matrix, skipping excluded ones. Determinant of view is an addition minor
+ *    of source matrix, see {@link Matrix#getMinorFor(int, int)}</p>
+ * <p>View of other MinorMatrix is mapped to its source directly, so minors of minors, calculated by cofactor expansion, need <i>O(n)</i> memory
+ *    each and do not add levels of indirection</p>
+ *
+ * @param <E> a child of Number class, used as one cell value
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class MinorMatrix<E extends Number> extends MatrixView<E> {
+    private final int[] columns, rows;
+
+    /**
+     * Initializes view of given matrix without specified column and row
+     *
+     * @param source viewed matrix, at least 2x2
+     * @param x index of excluded column
+     * @param y index of excluded row
+     * @throws RuntimeException if source matrix has only one column or row, or indexes are out of its bounds
+     */
+    public MinorMatrix(Matrix<E> source, int x, int y) {
+        super(source instanceof MinorMatrix ? ((MinorMatrix<E>)source).source : source, source.getWidth() - 1, source.getHeight() - 1);
+        if(x < 0 || x > width || y < 0 || y > height) {
+            throw new RuntimeException("Cell (" + x + ", " + y + ") is out of matrix (" + (width + 1) + "x" + (height + 1) + ")");
+        }
+
+        int[] parentColumns = source instanceof MinorMatrix ? ((MinorMatrix<E>)source).columns : null;
+        int[] parentRows = source instanceof MinorMatrix ? ((MinorMatrix<E>)source).rows : null;
+        this.columns = skip(parentColumns, x, width);
+        this.rows = skip(parentRows, y, height);
+    }
+
+    private static int[] skip(int[] parent, int excluded, int length) {
+        int[] indexes = new int[length];
+        for(int i = 0; i < length; i++) {
+            int index = i < excluded ? i : i + 1;
+            indexes[i] = parent == null ? index : parent[index];
+        }
+        return indexes;
+    }
+
+    @Override
+    public E get(int x, int y) {
+        return source.get(columns[x], rows[y]);
+    }
+}
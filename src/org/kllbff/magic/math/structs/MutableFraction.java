@@ -0,0 +1,449 @@
+package org.kllbff.magic.math.structs;
+
+import org.kllbff.magic.math.VarargsMath;
+
+/**
+ * <h3>Represents an ordinary fraction, which can be changed in place</h3>
+ * <p>Unlike {@link Fraction}, arithmetic methods of this class do not create new objects: result is saved into this fraction. Therefore one instance
+ *    can be used as accumulator in hot loops, such as elimination of {@link FractionsMatrix} rows, without allocation of memory for each cell</p>
+ * <p>MutableFraction uses deferred reduction: numerator and denominator are not reduced after each operation. GCD is calculated only when
+ *    one of the operands exceeds {@value #REDUCTION_THRESHOLD} by absolute value or when result of operation cannot be represented by
+ *    <code>long</code> values without reduction. If result cannot be represented even after reduction, it is kept as big {@link Fraction}
+ *    (see {@link Fraction#isBig()}) and all next operations use exact, but slow, arithmetic of {@link Fraction} until value fits into <code>long</code> again</p>
+ * <p>Operations:
+ *     <ul>
+ *          <li>{@link #addInPlace(MutableFraction)}, {@link #subInPlace(MutableFraction)}, {@link #mulInPlace(MutableFraction)}, {@link #divInPlace(MutableFraction)}
+ *              change this fraction by given;</li>
+ *          <li>{@link #mulAddInPlace(MutableFraction, MutableFraction)} and {@link #mulSubInPlace(MutableFraction, MutableFraction)} add product of
+ *              two fractions to this fraction or subtract it;</li>
+ *          <li>{@link #set(long, long)}, {@link #set(Fraction)} and {@link #set(MutableFraction)} change value of this fraction;</li>
+ *          <li>{@link #toFraction()} returns immutable reduced {@link Fraction} with the same value.</li>
+ *     </ul>
+ *
+ * @author Kirill Bogatikov
+ * @version 1.0
+ * @since 1.0
+ */
+public class MutableFraction extends Number {
+    public static final long REDUCTION_THRESHOLD = 1L << 31;
+    private static final long serialVersionUID = 2710586314285476213L;
+    private long n, d;
+    private Fraction big;
+
+    /**
+     * Initializes object by given values for numerator and denominator
+     * <p>Values are not reduced</p>
+     *
+     * @param n numerator value
+     * @param d denominator value
+     * @throws ArithmeticException if denominator equals zero
+     */
+    public MutableFraction(long n, long d) {
+        set(n, d);
+    }
+
+    /**
+     * Initializes object by using given value as numerator and 1 as denominator
+     *
+     * @param i given whole <code>long</code> value
+     */
+    public MutableFraction(long i) {
+        this(i, 1);
+    }
+
+    /**
+     * Creates 'empty' fraction with value zero: <code>0/1</code>
+     */
+    public MutableFraction() {
+        this(0);
+    }
+
+    /**
+     * Initializes object by numerator and denominator of given fraction
+     *
+     * @param fraction initial value
+     */
+    public MutableFraction(Fraction fraction) {
+        set(fraction);
+    }
+
+    /**
+     * Sets a new value for this fraction
+     *
+     * @param n numerator value
+     * @param d denominator value
+     * @return pointer to this fraction
+     * @throws ArithmeticException if denominator equals zero
+     */
+    public MutableFraction set(long n, long d) {
+        if(d == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+
+        this.n = n;
+        this.d = d;
+        this.big = null;
+        return this;
+    }
+
+    /**
+     * Sets value of given fraction to this fraction
+     *
+     * @param other new value
+     * @return pointer to this fraction
+     */
+    public MutableFraction set(Fraction other) {
+        if(other.isBig()) {
+            big = other;
+            return this;
+        }
+        return set(other.getNumerator(), other.getDenominator());
+    }
+
+    /**
+     * Sets value of given fraction to this fraction
+     *
+     * @param other new value
+     * @return pointer to this fraction
+     */
+    public MutableFraction set(MutableFraction other) {
+        this.n = other.n;
+        this.d = other.d;
+        this.big = other.big;
+        return this;
+    }
+
+    /**
+     * Returns value of fraction's current numerator
+     *
+     * @return value of fraction's current numerator
+     * @throws ArithmeticException if numerator does not fit into <code>long</code>
+     */
+    public long getNumerator() {
+        if(big != null) {
+            return big.getNumerator();
+        }
+        return n;
+    }
+
+    /**
+     * Returns value of fraction's current denominator
+     *
+     * @return value of fraction's current denominator
+     * @throws ArithmeticException if denominator does not fit into <code>long</code>
+     */
+    public long getDenominator() {
+        if(big != null) {
+            return big.getDenominator();
+        }
+        return d;
+    }
+
+    /**
+     * Returns true if this fraction equals zero
+     *
+     * @return true if numerator equals zero
+     */
+    public boolean isZero() {
+        if(big != null) {
+            return big.signum() == 0;
+        }
+        return n == 0;
+    }
+
+    /**
+     * Reduces this fraction by dividing <i>numerator</i> and <i>denominator</i> on their GCD and makes denominator positive
+     *
+     * @return pointer to this fraction
+     */
+    public MutableFraction reduce() {
+        if(big != null) {
+            return this;
+        }
+        if(d < 0) {
+            if(n == Long.MIN_VALUE || d == Long.MIN_VALUE) {
+                /* sign cannot be changed in long values */
+                return promote(Fraction.valueOf(n, d));
+            }
+            n = -n;
+            d = -d;
+        }
+        if(n == 0) {
+            d = 1;
+        } else if((d & (d - 1)) == 0) {
+            int shift = Math.min(Long.numberOfTrailingZeros(n), Long.numberOfTrailingZeros(d));
+            n >>= shift;
+            d >>= shift;
+        } else {
+            long gcd = VarargsMath.gcd(n, d);
+            n /= gcd;
+            d /= gcd;
+        }
+        return this;
+    }
+
+    /**
+     * Adds specified fraction to this fraction
+     *
+     * @param other specified fraction
+     * @return pointer to this fraction
+     */
+    public MutableFraction addInPlace(MutableFraction other) {
+        return accumulate(other, false);
+    }
+
+    /**
+     * Subtracts specified fraction from this fraction
+     *
+     * @param other specified fraction
+     * @return pointer to this fraction
+     */
+    public MutableFraction subInPlace(MutableFraction other) {
+        return accumulate(other, true);
+    }
+
+    /**
+     * Multiplies this fraction on specified fraction
+     *
+     * @param other specified fraction
+     * @return pointer to this fraction
+     */
+    public MutableFraction mulInPlace(MutableFraction other) {
+        if(big == null && other.big == null && product(other.n, other.d)) {
+            return this;
+        }
+        return promote(toFraction().mul(other.toFraction()));
+    }
+
+    /**
+     * Divides this fraction on specified fraction by multipling this fraction on inverted other
+     *
+     * @param other specified fraction
+     * @return pointer to this fraction
+     * @throws ArithmeticException if other fraction equals zero
+     */
+    public MutableFraction divInPlace(MutableFraction other) {
+        if(other.isZero()) {
+            throw new ArithmeticException("/ by zero");
+        }
+        if(big == null && other.big == null && product(other.d, other.n)) {
+            return this;
+        }
+        return promote(toFraction().div(other.toFraction()));
+    }
+
+    /**
+     * Adds product of two specified fractions to this fraction: <code>this = this + a * b</code>
+     *
+     * @param a first multiplier
+     * @param b second multiplier
+     * @return pointer to this fraction
+     */
+    public MutableFraction mulAddInPlace(MutableFraction a, MutableFraction b) {
+        return accumulateProduct(a, b, false);
+    }
+
+    /**
+     * Subtracts product of two specified fractions from this fraction: <code>this = this - a * b</code>
+     *
+     * @param a first multiplier
+     * @param b second multiplier
+     * @return pointer to this fraction
+     */
+    public MutableFraction mulSubInPlace(MutableFraction a, MutableFraction b) {
+        return accumulateProduct(a, b, true);
+    }
+
+    /**
+     * Returns immutable reduced fraction with the same value
+     *
+     * @return a new instance of Fraction
+     */
+    public Fraction toFraction() {
+        if(big != null) {
+            return big;
+        }
+        return Fraction.valueOf(n, d);
+    }
+
+    private static boolean isLarge(long value) {
+        return value >= REDUCTION_THRESHOLD || value <= -REDUCTION_THRESHOLD;
+    }
+
+    private void reduceIfLarge() {
+        if(isLarge(n) || isLarge(d)) {
+            reduce();
+        }
+    }
+
+    private MutableFraction promote(Fraction value) {
+        if(value.isBig()) {
+            big = value;
+        } else {
+            big = null;
+            n = value.getNumerator();
+            d = value.getDenominator();
+        }
+        return this;
+    }
+
+    private MutableFraction accumulate(MutableFraction other, boolean negate) {
+        if(other.isZero()) {
+            return this;
+        }
+        if(big == null && other.big == null) {
+            if(isLarge(other.n) || isLarge(other.d)) {
+                other.reduce();
+            }
+            try {
+                add(other.n, other.d, negate);
+                reduceIfLarge();
+                return this;
+            } catch(ArithmeticException e) {
+                reduce();
+                other.reduce();
+            }
+            /* reduction of value with Long.MIN_VALUE can promote it to big fraction */
+            if(big == null && other.big == null) {
+                try {
+                    add(other.n, other.d, negate);
+                    reduceIfLarge();
+                    return this;
+                } catch(ArithmeticException e) {
+                    /* result does not fit into long, it will be calculated by big fraction */
+                }
+            }
+        }
+
+        Fraction value = other.toFraction();
+        return promote(negate ? toFraction().sub(value) : toFraction().sum(value));
+    }
+
+    private MutableFraction accumulateProduct(MutableFraction a, MutableFraction b, boolean negate) {
+        if(a.isZero() || b.isZero()) {
+            return this;
+        }
+        if(big == null && a.big == null && b.big == null) {
+            try {
+                add(Math.multiplyExact(a.n, b.n), Math.multiplyExact(a.d, b.d), negate);
+                reduceIfLarge();
+                return this;
+            } catch(ArithmeticException e) {
+                reduce();
+                a.reduce();
+                b.reduce();
+            }
+            if(big == null && a.big == null && b.big == null) {
+                try {
+                    long g1 = VarargsMath.gcd(a.n, b.d);
+                    long g2 = VarargsMath.gcd(b.n, a.d);
+                    add(Math.multiplyExact(a.n / g1, b.n / g2), Math.multiplyExact(a.d / g2, b.d / g1), negate);
+                    reduceIfLarge();
+                    return this;
+                } catch(ArithmeticException e) {
+                    /* result does not fit into long, it will be calculated by big fraction */
+                }
+            }
+        }
+
+        Fraction product = a.toFraction().mul(b.toFraction());
+        return promote(negate ? toFraction().sub(product) : toFraction().sum(product));
+    }
+
+    private void add(long on, long od, boolean negate) {
+        if(negate) {
+            on = Math.negateExact(on);
+        }
+        if(n == 0) {
+            n = on;
+            d = od;
+        } else if(d == od) {
+            n = Math.addExact(n, on);
+        } else {
+            long fn = Math.addExact(Math.multiplyExact(n, od), Math.multiplyExact(on, d));
+            long fd = Math.multiplyExact(d, od);
+            n = fn;
+            d = fd;
+        }
+    }
+
+    private boolean product(long on, long od) {
+        if(isLarge(on) || isLarge(od)) {
+            long gcd = VarargsMath.gcd(on, od);
+            on /= gcd;
+            od /= gcd;
+        }
+        try {
+            long fn = Math.multiplyExact(n, on);
+            long fd = Math.multiplyExact(d, od);
+            n = fn;
+            d = fd;
+        } catch(ArithmeticException e) {
+            reduce();
+            if(big != null) {
+                return false;
+            }
+            long g1 = VarargsMath.gcd(n, od);
+            long g2 = VarargsMath.gcd(on, d);
+            try {
+                long fn = Math.multiplyExact(n / g1, on / g2);
+                long fd = Math.multiplyExact(d / g2, od / g1);
+                n = fn;
+                d = fd;
+            } catch(ArithmeticException e2) {
+                return false;
+            }
+        }
+        reduceIfLarge();
+        return true;
+    }
+
+    /**
+     * @return result of dividing numerator by denominator, casted to <code>int</code>
+     */
+    @Override
+    public int intValue() {
+        return (int)longValue();
+    }
+
+    /**
+     * @return result of dividing numerator by denominator
+     */
+    @Override
+    public long longValue() {
+        if(big != null) {
+            return big.longValue();
+        }
+        return n / d;
+    }
+
+    /**
+     * @return result of dividing casted to float numerator by denominator
+     */
+    @Override
+    public float floatValue() {
+        if(big != null) {
+            return big.floatValue();
+        }
+        return ((float)n) / d;
+    }
+
+    /**
+     * @return result of dividing casted to double numerator by denominator
+     */
+    @Override
+    public double doubleValue() {
+        if(big != null) {
+            return big.doubleValue();
+        }
+        return ((double)n) / (double)d;
+    }
+
+    /**
+     * Returns a string representation of the object in the same format as {@link Fraction#toString()}
+     */
+    @Override
+    public String toString() {
+        return toFraction().toString();
+    }
+}
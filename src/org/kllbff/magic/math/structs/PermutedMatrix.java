@@ -0,0 +1,203 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents view of matrix with logical order of rows</h3>
+ * <p>View does not copy cells: each row of view is mapped to row of source matrix by {@link RowPermutation}. Therefore {@link #swapRows(int, int)}
+ *    works in constant time, and {@link #get(int, int)} and {@link #set(int, int, Number)} read and change cells of source matrix</p>
+ * <p>Size of view cannot be changed: {@link #insertRow(int, Number...)}, {@link #insertColumn(int, Number...)}, {@link #addRows(int)},
+ *    {@link #addColumns(int)}, {@link #strikeOutRow(int)} and {@link #strikeOutColumn(int)} throw {@link UnsupportedOperationException}.
+ *    Use {@link #copy()} to get independent matrix with rows in order of view</p>
+ * <p>Determinant, {@link #transpose()}, {@link #inverse()} and {@link #adjugate()} are calculated over {@link #copy()}, so they are exact
+ *    for {@link FractionsMatrix} source</p>
+ *
+ * @param <E> a child of Number class, used as one cell value
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class PermutedMatrix<E extends Number> extends Matrix<E> {
+    private Matrix<E> source;
+    private RowPermutation permutation;
+
+    /**
+     * Initializes view of given matrix with identity order of rows
+     *
+     * @param source viewed matrix
+     */
+    public PermutedMatrix(Matrix<E> source) {
+        this(source, new RowPermutation(source.getHeight()));
+    }
+
+    /**
+     * Initializes view of given matrix with specified order of rows
+     *
+     * @param source viewed matrix
+     * @param permutation order of rows, its changes are visible in view
+     * @throws RuntimeException if size of permutation does not equal to height of matrix
+     */
+    public PermutedMatrix(Matrix<E> source, RowPermutation permutation) {
+        super(source, source.getWidth(), source.getHeight());
+        if(permutation.size() != source.getHeight()) {
+            throw new RuntimeException("Permutation of " + permutation.size() + " rows cannot be applied to matrix with " + source.getHeight() + " rows");
+        }
+
+        this.source = source;
+        this.permutation = permutation;
+    }
+
+    /**
+     * Returns viewed matrix
+     *
+     * @return viewed matrix
+     */
+    public Matrix<E> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns order of rows of this view
+     *
+     * @return order of rows
+     */
+    public RowPermutation getPermutation() {
+        return permutation;
+    }
+
+    @Override
+    public E get(int x, int y) {
+        return source.get(x, permutation.get(y));
+    }
+
+    @Override
+    public PermutedMatrix<E> set(int x, int y, E val) {
+        source.set(x, permutation.get(y), val);
+        return this;
+    }
+
+    @Override
+    public PermutedMatrix<E> add(E val) {
+        set(x++, y, val);
+        if(x == width) {
+            x = 0;
+            y++;
+        }
+        return this;
+    }
+
+    /**
+     * Swaps two rows of this view in constant time. Source matrix does not change
+     *
+     * @param a index of first row
+     * @param b index of second row
+     * @return pointer to this view
+     */
+    @Override
+    public PermutedMatrix<E> swapRows(int a, int b) {
+        permutation.swap(a, b);
+        return this;
+    }
+
+    /**
+     * Swaps two columns of source matrix
+     *
+     * @param a index of first column
+     * @param b index of second column
+     * @return pointer to this view
+     */
+    @Override
+    public PermutedMatrix<E> swapColumns(int a, int b) {
+        source.swapColumns(a, b);
+        return this;
+    }
+
+    /**
+     * Returns a new view of source matrix with copy of current order of rows
+     *
+     * @return a new instance of PermutedMatrix
+     */
+    @Override
+    public PermutedMatrix<E> permuteRows() {
+        return new PermutedMatrix<E>(source, new RowPermutation(permutation));
+    }
+
+    /**
+     * Returns a new matrix of the same type as source, containing all values of this view in order of its rows
+     *
+     * @return a new instance of Matrix
+     */
+    @Override
+    public Matrix<E> copy() {
+        Matrix<E> copy = source.copy();
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
+                copy.set(x, y, get(x, y));
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public Number getDeterminant(DeterminantMethod method) {
+        return copy().getDeterminant(method);
+    }
+
+    @Override
+    public Matrix<E> transpose() {
+        return copy().transpose();
+    }
+
+    @Override
+    public Matrix<? extends Number> inverse() {
+        return copy().inverse();
+    }
+
+    @Override
+    public Matrix<? extends Number> adjugate() {
+        return copy().adjugate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Matrix<E> insertRow(int y, E... row) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Matrix<E> insertColumn(int x, E... column) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> addColumns(int count) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> addRows(int count) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> strikeOutColumn(int column) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public Matrix<E> strikeOutRow(int row) {
+        throw new UnsupportedOperationException("Cannot change size of matrix's view");
+    }
+
+    @Override
+    public int hashCode() {
+        return copy().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return copy().equals(((PermutedMatrix<?>)obj).copy());
+    }
+}
@@ -1,5 +1,8 @@
 package org.kllbff.magic.math.structs;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * <h3>Represents an ordinary quadratic equation</h3>
  * <p>
@@ -10,15 +13,22 @@ package org.kllbff.magic.math.structs;
  *     <code><i>
  *                   -b &#177; &#8730;D
  *          q1, q2 = <sup>___________</sup>
- *                   2ac
+ *                   2a
  *     </code></i>
  * </p>
+ * <p>When <i>b<sup>2</sup></i> is much bigger than <i>4ac</i>, one of <code>-b &#177; &#8730;D</code> subtracts two close numbers and loses precision.
+ *    Therefore roots are calculated by stable formulae: <code>q = -(b + sign(b)&#8730;D) / 2</code>, <code>x<sub>1</sub> = q / a</code>,
+ *    <code>x<sub>2</sub> = c / q</code></p>
+ * <p>Many equations, given by columns of coefficients, are solved by {@link #solveAll(double[], double[], double[], double[], double[], boolean[])}
+ *    without creating any objects. Arrays longer than {@link #getParallelThreshold()} are split between threads of common {@link ForkJoinPool}</p>
  * 
  * @author Kirill Bogatikov
  * @version 1.0
  * @since 1.0
  */
 public class QuadraticEquation {
+    private static final int PARALLEL_CHUNK = 1 << 16;
+    private static volatile int parallelThreshold = 1 << 20;
     private double a, b, c;
     
     /**
@@ -110,6 +120,7 @@ public class QuadraticEquation {
     
     /**
      * Returns an array of solutions or null
+     * <p>First item is root <code>(-b + &#8730;D) / 2a</code>, second item is root <code>(-b - &#8730;D) / 2a</code>, but both are calculated by stable formulae</p>
      * 
      * @return array of solutions or null
      */
@@ -119,10 +130,102 @@ public class QuadraticEquation {
             return null; 
         }
         
-        return new double[] { 
-            (-b + Math.sqrt(d)) / (2 * a),
-            (-b - Math.sqrt(d)) / (2 * a)      
-        };
+        double q = -0.5 * (b + Math.copySign(Math.sqrt(d), b));
+        double x1 = q / a;
+        double x2 = q == 0 ? x1 : c / q;
+        if(Math.copySign(1.0, b) > 0) {
+            return new double[] { x2, x1 };
+        }
+        return new double[] { x1, x2 };
+    }
+    
+    /**
+     * Returns minimal count of equations, for which {@link #solveAll(double[], double[], double[], double[], double[], boolean[])} splits work between threads
+     * 
+     * @return minimal count of equations for parallel solving
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    /**
+     * Sets minimal count of equations, for which {@link #solveAll(double[], double[], double[], double[], double[], boolean[])} splits work between threads
+     * <p>Use {@link Integer#MAX_VALUE} to disable parallel solving</p>
+     * 
+     * @param threshold minimal count of equations for parallel solving
+     */
+    public static void setParallelThreshold(int threshold) {
+        parallelThreshold = threshold;
+    }
+    
+    /**
+     * Solves many equations, given by columns of coefficients: <code>a[i]x<sup>2</sup> + b[i]x + c[i] = 0</code>
+     * <p>Roots are written in the same order as by {@link #solve()}. If equation has no roots, <code>hasRoots[i]</code> is false and both roots are <code>NaN</code>.
+     *    A coefficients are not checked: if <code>a[i]</code> is zero, roots of this equation are undefined</p>
+     * <p>This method does not allocate memory for sequential solving and its loop has no branches, so it can be vectorized by compiler</p>
+     * 
+     * @param a A coefficients
+     * @param b B coefficients, at least as many as A coefficients
+     * @param c C coefficients, at least as many as A coefficients
+     * @param root1 array for first roots, at least as many items as A coefficients
+     * @param root2 array for second roots, at least as many items as A coefficients
+     * @param hasRoots array for flags of roots existing, at least as many items as A coefficients
+     * @throws RuntimeException if any array is shorter than array of A coefficients
+     */
+    public static void solveAll(double[] a, double[] b, double[] c, double[] root1, double[] root2, boolean[] hasRoots) {
+        int count = a.length;
+        if(b.length < count || c.length < count || root1.length < count || root2.length < count || hasRoots.length < count) {
+            throw new RuntimeException("All arrays must have at least " + count + " items");
+        }
+        
+        if(count >= parallelThreshold && count > PARALLEL_CHUNK) {
+            ForkJoinPool.commonPool().invoke(new SolveTask(a, b, c, root1, root2, hasRoots, 0, count));
+        } else {
+            solveRange(a, b, c, root1, root2, hasRoots, 0, count);
+        }
+    }
+    
+    private static void solveRange(double[] a, double[] b, double[] c, double[] root1, double[] root2, boolean[] hasRoots, int from, int to) {
+        for(int i = from; i < to; i++) {
+            double ai = a[i], bi = b[i], ci = c[i];
+            double d = bi * bi - 4 * ai * ci;
+            double q = -0.5 * (bi + Math.copySign(Math.sqrt(d), bi));
+            double x1 = q / ai;
+            double x2 = q == 0 ? x1 : ci / q;
+            boolean positive = Math.copySign(1.0, bi) > 0;
+            root1[i] = positive ? x2 : x1;
+            root2[i] = positive ? x1 : x2;
+            hasRoots[i] = d >= 0;
+        }
+    }
+    
+    private static class SolveTask extends RecursiveAction {
+        private static final long serialVersionUID = -2480374011437211207L;
+        private final double[] a, b, c, root1, root2;
+        private final boolean[] hasRoots;
+        private final int from, to;
+        
+        SolveTask(double[] a, double[] b, double[] c, double[] root1, double[] root2, boolean[] hasRoots, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.root1 = root1;
+            this.root2 = root2;
+            this.hasRoots = hasRoots;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if(to - from <= PARALLEL_CHUNK) {
+                solveRange(a, b, c, root1, root2, hasRoots, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveTask(a, b, c, root1, root2, hasRoots, from, middle), 
+                      new SolveTask(a, b, c, root1, root2, hasRoots, middle, to));
+        }
     }
 
     @Override
@@ -0,0 +1,137 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents reusable cursor over rows of matrix</h3>
+ * <p>Cursor walks rows one by one by {@link #next()} or jumps to any row by {@link #moveTo(int)}. Values of current row are available as part
+ *    of <code>double</code> array: {@link #getLength()} values of {@link #getValues()}, starting at {@link #getOffset()}:
+ *     <pre>
+ *     RowCursor cursor = matrix.rows();
+ *     while(cursor.next()) {
+ *         double[] values = cursor.getValues();
+ *         for(int i = cursor.getOffset(), end = i + cursor.getLength(); i &lt; end; i++) {
+ *             sum += values[i];
+ *         }
+ *     }
+ *     </pre>
+ * </p>
+ * <p>Cursor of {@link DoubleMatrix} returns storage of matrix itself, so its rows are walked without copying and with sequential memory access.
+ *    Cursors of {@link Matrix}, {@link MappedDoubleMatrix} and {@link SparseMatrix} copy each row into one array, allocated with cursor.
+ *    Therefore loops over rows do not allocate memory. Array must be used only for reading: its changes are visible in DoubleMatrix only</p>
+ * <p>Cursor is created for current size of matrix and must be created again after size of matrix is changed</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public abstract class RowCursor {
+    protected double[] values;
+    protected int offset;
+    private final int length, height;
+    private int row;
+
+    /**
+     * Initializes cursor before the first row
+     *
+     * @param values array for values of rows or null, if it is set by {@link #load(int)}
+     * @param length count of values in row: width of matrix
+     * @param height count of rows
+     */
+    protected RowCursor(double[] values, int length, int height) {
+        this.values = values;
+        this.length = length;
+        this.height = height;
+        this.row = -1;
+    }
+
+    /**
+     * Makes specified row current: sets {@link #values} and {@link #offset} of its values
+     *
+     * @param y index of row
+     */
+    protected abstract void load(int y);
+
+    /**
+     * Moves cursor to the next row
+     *
+     * @return true if next row exists, false if cursor has passed the last row
+     */
+    public boolean next() {
+        if(row + 1 >= height) {
+            return false;
+        }
+        load(++row);
+        return true;
+    }
+
+    /**
+     * Moves cursor to specified row
+     *
+     * @param y index of row
+     * @return pointer to this cursor
+     * @throws RuntimeException if row is out of matrix
+     */
+    public RowCursor moveTo(int y) {
+        if(y < 0 || y >= height) {
+            throw new RuntimeException("Row " + y + " is out of matrix with " + height + " rows");
+        }
+        load(y);
+        row = y;
+        return this;
+    }
+
+    /**
+     * Moves cursor before the first row, so rows can be walked again
+     *
+     * @return pointer to this cursor
+     */
+    public RowCursor reset() {
+        row = -1;
+        return this;
+    }
+
+    /**
+     * Returns index of current row or -1 if cursor is before the first row
+     *
+     * @return index of current row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns array, containing values of current row
+     *
+     * @return array of values
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns index of first value of current row in {@link #getValues()}
+     *
+     * @return index of first value
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns count of values in row: width of matrix
+     *
+     * @return count of values in row
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns value of current row at specified column
+     *
+     * @param x column of cell
+     * @return value of cell
+     */
+    public double get(int x) {
+        return values[offset + x];
+    }
+}
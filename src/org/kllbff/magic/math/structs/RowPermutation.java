@@ -0,0 +1,107 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents permutation of matrix's rows</h3>
+ * <p>Permutation maps logical index of row to physical index of row in matrix's storage. Two rows are swapped by {@link #swap(int, int)} in constant time,
+ *    without moving any cell of matrix. It is used by elimination algorithms for pivoting and by {@link PermutedMatrix} view</p>
+ * <p>Permutation also tracks its sign: each swap of two different rows changes sign of matrix's determinant</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class RowPermutation {
+    private int[] rows;
+    private int sign;
+
+    /**
+     * Initializes identity permutation of specified size: each logical row is mapped to physical row with the same index
+     *
+     * @param size count of rows
+     */
+    public RowPermutation(int size) {
+        rows = new int[size];
+        for(int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        sign = 1;
+    }
+
+    /**
+     * Initializes copy of given permutation
+     *
+     * @param other copied permutation
+     */
+    public RowPermutation(RowPermutation other) {
+        rows = other.rows.clone();
+        sign = other.sign;
+    }
+
+    /**
+     * Returns count of rows in this permutation
+     *
+     * @return count of rows
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Returns physical index of specified logical row
+     *
+     * @param row logical index of row
+     * @return physical index of row
+     */
+    public int get(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Swaps two logical rows
+     *
+     * @param a index of first row
+     * @param b index of second row
+     * @return pointer to this RowPermutation
+     */
+    public RowPermutation swap(int a, int b) {
+        if(a != b) {
+            int t = rows[a];
+            rows[a] = rows[b];
+            rows[b] = t;
+            sign = -sign;
+        }
+        return this;
+    }
+
+    /**
+     * Returns sign of this permutation: 1 if it is made by even count of swaps, -1 otherwise
+     *
+     * @return sign of this permutation
+     */
+    public int getSign() {
+        return sign;
+    }
+
+    /**
+     * Writes values of given vector into result array in order of this permutation: <code>result[i] = values[get(i)]</code>
+     *
+     * @param values source vector, indexed by physical rows
+     * @param result array for permuted vector, must not be the source array
+     * @return given result array
+     */
+    public double[] apply(double[] values, double[] result) {
+        for(int i = 0; i < rows.length; i++) {
+            result[i] = values[rows[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Returns physical indices of all logical rows as a new array
+     *
+     * @return physical indices of rows
+     */
+    public int[] toArray() {
+        return rows.clone();
+    }
+}
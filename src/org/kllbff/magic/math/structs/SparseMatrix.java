@@ -0,0 +1,524 @@
+package org.kllbff.magic.math.structs;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * <h3>Represents sparse matrix of primitive double values</h3>
+ * <p>Only non-zero cells are stored, in <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)">CSR</a>
+ *    format: values and column indices of all non-zero cells are placed row by row in two arrays, and third array keeps index of first cell of each row.
+ *    So memory and time of row traversal depend on count of non-zero cells, not on <i>width &#215; height</i></p>
+ * <p>SparseMatrix is filled like {@link Matrix}: by {@link #add(double)}, which fills cells row by row and skips zeros, or by {@link #set(int, int, double)}.
+ *    Adding of cells row by row needs constant time per cell. Setting of cell in the middle of storage shifts all next cells, so it needs
+ *    <i>O(non-zeros)</i> operations</p>
+ * <p>Traversal of stored cells is available by {@link #getRowStart(int)}, {@link #getRowEnd(int)}, {@link #getColumnAt(int)} and {@link #getValueAt(int)}:
+ *     <pre>
+ *     for(int i = matrix.getRowStart(y); i &lt; matrix.getRowEnd(y); i++) {
+ *         int x = matrix.getColumnAt(i);
+ *         double value = matrix.getValueAt(i);
+ *     }
+ *     </pre>
+ *    Cells of each row are sorted by column</p>
+ * <p>Systems of equations with sparse symmetric positive definite matrix are solved by
+ *    {@link org.kllbff.magic.math.algothms.SparseCholeskyAlgorithm SparseCholeskyAlgorithm}</p>
+ * <p>Matrix is saved to channel in compact binary format by {@link #writeTo(WritableByteChannel)} and loaded by {@link #readFrom(ReadableByteChannel)}</p>
+ *
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class SparseMatrix {
+    private static final int DEFAULT_CAPACITY = 16;
+    private double[] values;
+    private int[] columns;
+    /* rows[k] is index of first cell of row k; it is valid only while k <= top, all next rows are empty and start at size */
+    private int[] rows;
+    private int top;
+    private int size;
+    private int width, height;
+    private int x, y;
+
+    /**
+     * Initializes empty matrix with specified width and height
+     *
+     * @param width width of matrix
+     * @param height height of matrix
+     * @throws RuntimeException if width or height less than 1
+     */
+    public SparseMatrix(int width, int height) {
+        this(width, height, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes empty matrix with specified width, height and expected count of non-zero cells
+     *
+     * @param width width of matrix
+     * @param height height of matrix
+     * @param capacity expected count of non-zero cells
+     * @throws RuntimeException if width or height less than 1
+     */
+    public SparseMatrix(int width, int height, int capacity) {
+        if(width < 1) {
+            throw new RuntimeException("Matrix's width cann't be less than 1 (given " + width + ")");
+        }
+        if(height < 1) {
+            throw new RuntimeException("Matrix's height cann't be less than 1 (given " + height + ")");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.values = new double[Math.max(capacity, 1)];
+        this.columns = new int[values.length];
+        this.rows = new int[height + 1];
+    }
+
+    /**
+     * Returns a new instance of SparseMatrix, containing all non-zero values from given matrix
+     * <p>Empty (<code>null</code>) cells of given matrix are treated as zeros</p>
+     *
+     * @param matrix source matrix
+     * @return a new instance of SparseMatrix
+     */
+    public static SparseMatrix create(Matrix<? extends Number> matrix) {
+        SparseMatrix result = new SparseMatrix(matrix.getWidth(), matrix.getHeight());
+        for(int y = 0; y < matrix.getHeight(); y++) {
+            for(int x = 0; x < matrix.getWidth(); x++) {
+                Number value = matrix.get(x, y);
+                result.add(value == null ? 0.0 : value.doubleValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new instance of SparseMatrix, containing all non-zero values from given matrix
+     *
+     * @param matrix source matrix
+     * @return a new instance of SparseMatrix
+     */
+    public static SparseMatrix create(DoubleMatrix matrix) {
+        SparseMatrix result = new SparseMatrix(matrix.getWidth(), matrix.getHeight());
+        for(int y = 0; y < matrix.getHeight(); y++) {
+            for(int x = 0; x < matrix.getWidth(); x++) {
+                result.add(matrix.get(x, y));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns current matrix's width
+     *
+     * @return current matrix's width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns current matrix's height
+     *
+     * @return current matrix's height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns count of stored non-zero cells
+     *
+     * @return count of non-zero cells
+     */
+    public int getNonZeroCount() {
+        return size;
+    }
+
+    /**
+     * Returns index of first stored cell of specified row
+     *
+     * @param y index of row
+     * @return index of first cell of row, see {@link #getColumnAt(int)} and {@link #getValueAt(int)}
+     */
+    public int getRowStart(int y) {
+        return y <= top ? rows[y] : size;
+    }
+
+    /**
+     * Returns index after last stored cell of specified row
+     *
+     * @param y index of row
+     * @return index after last cell of row
+     */
+    public int getRowEnd(int y) {
+        return getRowStart(y + 1);
+    }
+
+    /**
+     * Returns column of stored cell with specified index
+     *
+     * @param index index of stored cell, from 0 to {@link #getNonZeroCount()}
+     * @return column of cell
+     */
+    public int getColumnAt(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Returns value of stored cell with specified index
+     *
+     * @param index index of stored cell, from 0 to {@link #getNonZeroCount()}
+     * @return value of cell
+     */
+    public double getValueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Copies values of one row, including zeros, into given array without allocation of memory
+     *
+     * @param y index of row
+     * @param row array for values, at least {@link #getWidth()}
+     * @return given array
+     * @throws RuntimeException if array has not enough items
+     */
+    public double[] copyRowInto(int y, double[] row) {
+        if(row.length < width) {
+            throw new RuntimeException("Array has not enough items for row: " + row.length + ", " + width + " need");
+        }
+        Arrays.fill(row, 0, width, 0.0);
+        for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+            row[columns[i]] = values[i];
+        }
+        return row;
+    }
+
+    /**
+     * Returns cursor over rows of this matrix, which copies each row, including zeros, into one array by {@link #copyRowInto(int, double[])}
+     * <p>It needs <i>O(width)</i> operations per row; to walk only non-zero cells use {@link #getRowStart(int)} and {@link #getRowEnd(int)}</p>
+     *
+     * @return a new cursor before the first row
+     * @see RowCursor
+     */
+    public RowCursor rows() {
+        return new RowCursor(new double[width], width, height) {
+            @Override
+            protected void load(int y) {
+                copyRowInto(y, values);
+            }
+        };
+    }
+
+    private int find(int x, int y) {
+        return Arrays.binarySearch(columns, getRowStart(y), getRowEnd(y), x);
+    }
+
+    /**
+     * Returns value stored in cell at x column and y row
+     * <p>Cell is found by binary search in its row</p>
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @return value stored in specified cell or zero if cell is not stored
+     */
+    public double get(int x, int y) {
+        int index = find(x, y);
+        return index < 0 ? 0.0 : values[index];
+    }
+
+    /**
+     * Sets a new value to specified cell
+     * <p>Zero value removes cell from storage</p>
+     *
+     * @param x column of cell
+     * @param y row of cell
+     * @param val new value
+     * @return pointer to this SparseMatrix
+     */
+    public SparseMatrix set(int x, int y, double val) {
+        int index = find(x, y);
+        if(index >= 0) {
+            if(val == 0.0) {
+                remove(index, y);
+            } else {
+                values[index] = val;
+            }
+        } else if(val != 0.0) {
+            insert(-index - 1, x, y, val);
+        }
+        return this;
+    }
+
+    /**
+     * Adds value to next cell. Cell specifies by internal field x and y, incremtable at each call this method
+     * <p>
+     * After saving value, x-pointer increases by 1. If value of x-pointer bigger than width, y-poiter increases by 1
+     * and x-pointer sets to zero. Zero values are not stored, but pointers are moved
+     * </p>
+     *
+     * @param val value for cell
+     * @return pointer to this SparseMatrix
+     */
+    public SparseMatrix add(double val) {
+        set(x++, y, val);
+        if(x == width) {
+            x = 0;
+            y++;
+        }
+        return this;
+    }
+
+    private void insert(int index, int x, int y, double val) {
+        if(size == values.length) {
+            int capacity = values.length + (values.length >> 1) + 1;
+            values = Arrays.copyOf(values, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+        }
+        if(y + 1 > top) {
+            for(int k = top + 1; k <= y + 1; k++) {
+                rows[k] = size;
+            }
+            top = y + 1;
+        }
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+        System.arraycopy(columns, index, columns, index + 1, size - index);
+        values[index] = val;
+        columns[index] = x;
+        size++;
+        for(int k = y + 1; k <= top; k++) {
+            rows[k]++;
+        }
+    }
+
+    private void remove(int index, int y) {
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        System.arraycopy(columns, index + 1, columns, index, size - index - 1);
+        size--;
+        for(int k = y + 1; k <= top; k++) {
+            rows[k]--;
+        }
+    }
+
+    /**
+     * Multiplies this matrix by specified vector: <code>result = this &#215; vector</code>
+     * <p>This method does not allocate any memory and needs <i>O(non-zeros)</i> operations</p>
+     *
+     * @param vector vector with at least {@link #getWidth()} items
+     * @param result array for product with at least {@link #getHeight()} items, must not be the vector array
+     * @return given result array
+     */
+    public double[] multiply(double[] vector, double[] result) {
+        for(int y = 0; y < height; y++) {
+            double sum = 0.0;
+            for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+                sum += values[i] * vector[columns[i]];
+            }
+            result[y] = sum;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if matrix is square and each stored cell has equal cell, symmetric about diagonal
+     *
+     * @return true if this matrix is symmetric
+     */
+    public boolean isSymmetric() {
+        if(width != height) {
+            return false;
+        }
+        for(int y = 0; y < height; y++) {
+            for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+                if(get(y, columns[i]) != values[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns transposed matrix: rows of this matrix become columns of result
+     * <p>Transposition needs <i>O(non-zeros + width)</i> operations</p>
+     *
+     * @return a new instance of SparseMatrix, containing transposed matrix
+     */
+    public SparseMatrix transpose() {
+        SparseMatrix result = new SparseMatrix(height, width, size);
+        int[] counts = new int[width + 1];
+        for(int i = 0; i < size; i++) {
+            counts[columns[i] + 1]++;
+        }
+        for(int k = 0; k < width; k++) {
+            counts[k + 1] += counts[k];
+        }
+        System.arraycopy(counts, 0, result.rows, 0, width + 1);
+
+        for(int y = 0; y < height; y++) {
+            for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+                int index = counts[columns[i]]++;
+                result.values[index] = values[i];
+                result.columns[index] = y;
+            }
+        }
+        result.size = size;
+        result.top = width;
+        return result;
+    }
+
+    /**
+     * Returns a new instance of SparseMatrix, containing all values from this matrix
+     *
+     * @return a new instance of SparseMatrix, containing all values from this matrix
+     */
+    public SparseMatrix copy() {
+        SparseMatrix copy = new SparseMatrix(width, height, size);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        System.arraycopy(columns, 0, copy.columns, 0, size);
+        for(int k = 0; k <= height; k++) {
+            copy.rows[k] = getRowStart(k);
+        }
+        copy.top = height;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Returns a new instance of DoubleMatrix, containing all values from this matrix
+     *
+     * @return a new instance of dense DoubleMatrix
+     */
+    public DoubleMatrix toDoubleMatrix() {
+        DoubleMatrix matrix = new DoubleMatrix(width, height);
+        for(int y = 0; y < height; y++) {
+            for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+                matrix.set(columns[i], y, values[i]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes this matrix to channel in binary format, see {@link Matrix#writeTo(WritableByteChannel)}
+     * <p>Usually only stored cells are written with their columns and rows; if more than a half of cells are stored, all cells are written row by row</p>
+     *
+     * @param channel destination channel, it is not closed
+     * @throws IOException if channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        MatrixFormat format = MatrixFormat.writer(channel, MatrixFormat.DOUBLE, width, height, size);
+        for(int y = 0; y < height; y++) {
+            int start = getRowStart(y), end = getRowEnd(y);
+            if(format.isSparse()) {
+                for(int i = start; i < end; i++) {
+                    format.putEntry(columns[i], y);
+                    format.putDouble(values[i]);
+                }
+            } else {
+                for(int x = 0, i = start; x < width; x++) {
+                    format.putDouble(i < end && columns[i] == x ? values[i++] : 0.0);
+                }
+            }
+        }
+        format.finish();
+    }
+
+    /**
+     * Reads matrix, written by {@link #writeTo(WritableByteChannel)}, {@link Matrix#writeTo(WritableByteChannel)} or
+     * {@link DoubleMatrix#writeTo(WritableByteChannel)}, from channel
+     * <p>Cells are appended row by row, so reading needs constant time per cell. Only bytes of one matrix are read, so channel can contain
+     *    several matrices one by one</p>
+     *
+     * @param channel blocking source channel, it is not closed
+     * @return a new instance of SparseMatrix
+     * @throws IOException if channel cannot be read
+     * @throws RuntimeException if channel does not contain matrix, its data is damaged or it has more than {@link Integer#MAX_VALUE} non-zero cells
+     */
+    public static SparseMatrix readFrom(ReadableByteChannel channel) throws IOException {
+        MatrixFormat format = MatrixFormat.reader(channel);
+        int width = format.getWidth(), height = format.getHeight();
+        SparseMatrix matrix;
+        if(format.isSparse()) {
+            if(format.getCount() > Integer.MAX_VALUE) {
+                throw new RuntimeException("Sparse matrix cannot contain " + format.getCount() + " cells");
+            }
+            matrix = new SparseMatrix(width, height, (int)format.getCount());
+            for(long i = 0; i < format.getCount(); i++) {
+                format.nextEntry();
+                matrix.append(format.getX(), format.getY(), format.getDouble());
+            }
+        } else {
+            matrix = new SparseMatrix(width, height);
+            for(int y = 0; y < height; y++) {
+                for(int x = 0; x < width; x++) {
+                    matrix.append(x, y, format.getDouble());
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /* cell must be after all stored cells */
+    private void append(int x, int y, double val) {
+        if(val != 0.0) {
+            insert(size, x, y, val);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * width + height;
+        for(int y = 0; y < height; y++) {
+            for(int i = getRowStart(y), end = getRowEnd(y); i < end; i++) {
+                long bits = Double.doubleToLongBits(values[i]);
+                hash = 31 * hash + (int)(bits ^ (bits >>> 32));
+                hash = 31 * hash + columns[i] * 131 + y;
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SparseMatrix other = (SparseMatrix)obj;
+        if(width != other.width || height != other.height || size != other.size) {
+            return false;
+        }
+        for(int k = 0; k <= height; k++) {
+            if(getRowStart(k) != other.getRowStart(k)) {
+                return false;
+            }
+        }
+        for(int i = 0; i < size; i++) {
+            if(columns[i] != other.columns[i] || Double.doubleToLongBits(values[i]) != Double.doubleToLongBits(other.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns stored cells row by row in format <code>y: x=value x=value</code>. Empty rows are skipped
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for(int y = 0; y < height; y++) {
+            int start = getRowStart(y), end = getRowEnd(y);
+            if(start == end) {
+                continue;
+            }
+            builder.append(y).append(":");
+            for(int i = start; i < end; i++) {
+                builder.append(" ").append(columns[i]).append("=").append(values[i]);
+            }
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+}
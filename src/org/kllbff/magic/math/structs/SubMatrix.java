@@ -0,0 +1,69 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents read-only view of rectangular block of other matrix</h3>
+ * <p>Cell at x column and y row of view is cell at <code>(left + x)</code> column and <code>(top + y)</code> row of source matrix.
+ *    View of other SubMatrix is mapped to its source directly, so nested blocks do not add levels of indirection</p>
+ * <p>It is created in constant time, so block algorithms can pass blocks of matrix to any method, which accepts {@link Matrix},
+ *    without copying of cells</p>
+ *
+ * @param <E> a child of Number class, used as one cell value
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class SubMatrix<E extends Number> extends MatrixView<E> {
+    private final int left, top;
+
+    /**
+     * Initializes view of block of given matrix
+     *
+     * @param source viewed matrix
+     * @param left index of first column of block
+     * @param top index of first row of block
+     * @param width width of block
+     * @param height height of block
+     * @throws RuntimeException if block is empty or does not fit into source matrix
+     */
+    public SubMatrix(Matrix<E> source, int left, int top, int width, int height) {
+        super(unwrap(source), width, height);
+        if(left < 0 || top < 0 || left + width > source.getWidth() || top + height > source.getHeight()) {
+            throw new RuntimeException("Block " + width + "x" + height + " at (" + left + ", " + top + ") does not fit into matrix ("
+                                       + source.getWidth() + "x" + source.getHeight() + ")");
+        }
+
+        if(source instanceof SubMatrix) {
+            left += ((SubMatrix<E>)source).left;
+            top += ((SubMatrix<E>)source).top;
+        }
+        this.left = left;
+        this.top = top;
+    }
+
+    private static <E extends Number> Matrix<E> unwrap(Matrix<E> source) {
+        return source instanceof SubMatrix ? ((SubMatrix<E>)source).source : source;
+    }
+
+    /**
+     * Returns index of first column of block in source matrix
+     *
+     * @return index of first column of block
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns index of first row of block in source matrix
+     *
+     * @return index of first row of block
+     */
+    public int getTop() {
+        return top;
+    }
+
+    @Override
+    public E get(int x, int y) {
+        return source.get(left + x, top + y);
+    }
+}
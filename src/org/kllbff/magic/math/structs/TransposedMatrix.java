@@ -0,0 +1,28 @@
+package org.kllbff.magic.math.structs;
+
+/**
+ * <h3>Represents read-only transposed view of other matrix</h3>
+ * <p>Cell at x column and y row of view is cell at y column and x row of source matrix. Unlike {@link Matrix#transpose()}, view is created
+ *    in constant time and does not copy cells</p>
+ *
+ * @param <E> a child of Number class, used as one cell value
+ * @author Kirill Bogatikov
+ * @since 1.0
+ * @version 1.0
+ */
+public class TransposedMatrix<E extends Number> extends MatrixView<E> {
+
+    /**
+     * Initializes transposed view of given matrix
+     *
+     * @param source viewed matrix
+     */
+    public TransposedMatrix(Matrix<E> source) {
+        super(source, source.getHeight(), source.getWidth());
+    }
+
+    @Override
+    public E get(int x, int y) {
+        return source.get(y, x);
+    }
+}